@@ -0,0 +1,374 @@
+package bricker.benchmark;
+
+import bricker.brick_strategies.BasicCollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.brick_strategies.StrategyTriggerCounts;
+import bricker.collisions.BrickGrid;
+import bricker.engine.AssetCache;
+import bricker.engine.EntityRegistry;
+import bricker.engine.GameObjectCommandBuffer;
+import bricker.engine.PuckPool;
+import bricker.engine.PuckSpawner;
+import bricker.events.GameEventBus;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.PuckSwarm;
+import bricker.headless.HeadlessImageReader;
+import bricker.headless.HeadlessSimulation;
+import bricker.headless.HeadlessSoundReader;
+import bricker.headless.HeadlessUserInputListener;
+import bricker.headless.HeadlessWindowController;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.GameSettings;
+import bricker.profiling.FrameProfiler;
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.collisions.GameObjectCollection;
+import danogl.gui.Sound;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * FrameBenchmark measures the per-frame cost of the game and of the collision hot path:
+ * BrickerGameManager.update, Ball.onCollisionEnter, Brick.onCollisionEnter and
+ * CollisionStrategyFactory.buildStrategy. Every benchmark runs headless, is parameterized over the
+ * board size (bricksPerRow x brickRows) and, for the frame update, over the number of active pucks,
+ * and reports the average time and the number of bytes allocated per operation. The frame update of the
+ * chaos mode is measured over the number of pucks in its PuckSwarm, and checked against the frame budget
+ * of 60 frames per second.
+ * Each board is played in a window of its own, wide enough for every brick to have a positive width and
+ * tall enough for the bricks to lie above the ball's spawn point and the paddle. The pucks are spawned
+ * through the game's PuckPool (or its PuckSwarm) just below the bricks, heading up, and topped up before
+ * every frame, so the number of pucks is the number of pucks in play.
+ * <p>
+ * Usage: FrameBenchmark [boards] [pucks] [swarm pucks], e.g.
+ * {@code FrameBenchmark 8x7,100x100,1000x1000 0,16,64 1000,5000}
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class FrameBenchmark {
+    private static final String DEFAULT_BOARDS = "8x7,50x50,200x200,1000x1000";
+    private static final String DEFAULT_PUCKS = "0,16,64";
+    private static final String DEFAULT_SWARM_PUCKS = "1000,5000";
+    private static final double FRAME_BUDGET_NANOS = 1e9 / 60;
+    private static final int WARMUP_FRAMES = 60;
+    private static final int MEASURED_FRAMES = 300;
+    private static final int WARMUP_OPERATIONS = 20_000;
+    private static final int MEASURED_OPERATIONS = 200_000;
+    private static final float MIN_BRICK_WIDTH = 2 * Constants.BRICK_HEIGHT;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /* Prevents instantiation of this class. */
+    private FrameBenchmark() {
+    }
+
+    /**
+     * Runs all the benchmarks and prints one result line per benchmark and parameter combination.
+     * @param args Command-line arguments (optional): [boards as RxC list, pucks list, swarm pucks list].
+     */
+    public static void main(String[] args) {
+        String[] boards = (args.length > 0 ? args[0] : DEFAULT_BOARDS).split(",");
+        String[] pucks = (args.length > 1 ? args[1] : DEFAULT_PUCKS).split(",");
+        String[] swarmPucks = (args.length > 2 ? args[2] : DEFAULT_SWARM_PUCKS).split(",");
+        System.out.printf("%-34s %12s %12s %10s %8s%n", "benchmark", "board", "pucks", "ns/op", "B/op");
+        for (String board : boards) {
+            String[] size = board.split("x");
+            int bricksPerRow = Integer.parseInt(size[0]);
+            int brickRows = Integer.parseInt(size[1]);
+            for (String puckCount : pucks) {
+                int puckNumber = Integer.parseInt(puckCount);
+                if (puckNumber > Constants.MAX_PUCKS) {
+                    throw new IllegalArgumentException("At most " + Constants.MAX_PUCKS +
+                            " pucks fit the PuckPool; use the swarm pucks list for more");
+                }
+                report("BrickerGameManager.update", board, puckCount,
+                        benchmarkUpdate(bricksPerRow, brickRows, puckNumber));
+            }
+            for (String puckCount : swarmPucks) {
+                Measurement measurement = benchmarkChaosUpdate(bricksPerRow, brickRows,
+                        Integer.parseInt(puckCount));
+                report("BrickerGameManager.update (chaos)", board, puckCount, measurement);
+                if (measurement.nanosPerOperation > FRAME_BUDGET_NANOS) {
+                    System.out.printf("  over the 60 FPS frame budget of %.0f ns%n", FRAME_BUDGET_NANOS);
+                }
+            }
+            report("CollisionStrategyFactory.build", board, "-",
+                    benchmarkBuildStrategy(bricksPerRow, brickRows));
+        }
+        report("Ball.onCollisionEnter", "-", "-", benchmarkBallCollision());
+        report("Brick.onCollisionEnter", "-", "-", benchmarkBrickCollision());
+    }
+
+    /*
+     * Measures a single frame of a running game with the given board, whose pool is topped up to the given
+     * number of extra pucks before every frame.
+     */
+    private static Measurement benchmarkUpdate(int bricksPerRow, int brickRows, int pucks) {
+        Vector2 windowDimensions = windowFor(bricksPerRow, brickRows);
+        HeadlessWindowController windowController = new HeadlessWindowController(windowDimensions);
+        BenchmarkGameManager gameManager = new BenchmarkGameManager(windowDimensions, bricksPerRow,
+                brickRows);
+        gameManager.initializeGame(new HeadlessImageReader(windowController.messages()),
+                new HeadlessSoundReader(windowController.messages()), new HeadlessUserInputListener(),
+                windowController);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            gameManager.fillPool(pucks);
+            gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        Measurement measurement = Measurement.start();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            gameManager.fillPool(pucks);
+            gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        return measurement.stop(MEASURED_FRAMES);
+    }
+
+    /*
+     * Measures a single frame of a running chaos-mode game whose swarm is topped up to the given number of
+     * pucks before every frame, as if bricks kept spawning them.
+     */
+    private static Measurement benchmarkChaosUpdate(int bricksPerRow, int brickRows, int pucks) {
+        Vector2 windowDimensions = windowFor(bricksPerRow, brickRows);
+        HeadlessWindowController windowController = new HeadlessWindowController(windowDimensions);
+        BenchmarkGameManager gameManager = new BenchmarkGameManager(windowDimensions, bricksPerRow,
+                brickRows, GameSettings.defaults().withChaosMode(true));
+        gameManager.initializeGame(new HeadlessImageReader(windowController.messages()),
+                new HeadlessSoundReader(windowController.messages()), new HeadlessUserInputListener(),
+                windowController);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            gameManager.fillSwarm(pucks);
+            gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        Measurement measurement = Measurement.start();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            gameManager.fillSwarm(pucks);
+            gameManager.update(HeadlessSimulation.DEFAULT_DELTA_TIME);
+        }
+        return measurement.stop(MEASURED_FRAMES);
+    }
+
+    /*
+     * Measures building the strategy of a single brick, for a whole board's worth of bricks.
+     */
+    private static Measurement benchmarkBuildStrategy(int bricksPerRow, int brickRows) {
+        Vector2 windowDimensions = new Vector2(Constants.DEFAULT_WINDOW_WIDTH,
+                Constants.DEFAULT_WINDOW_HEIGHT);
+        HeadlessWindowController windowController = new HeadlessWindowController(windowDimensions);
+        BrickerGameManager gameManager = new BrickerGameManager(Constants.WINDOWS_TITLE, windowDimensions,
+                bricksPerRow, brickRows, true);
+        GameObjectCollection gameObjects = new GameObjectCollection(windowController.messages());
+        Ball ball = new Ball(Vector2.ZERO, Vector2.ONES, null, Sound.EMPTY_SOUND, null);
+        BrickGrid brickGrid = new BrickGrid(brickRows, bricksPerRow, Vector2.ZERO, Vector2.ONES, 0);
+        GameObjectCommandBuffer commandBuffer = new GameObjectCommandBuffer(gameObjects);
+        EntityRegistry entityRegistry = new EntityRegistry(commandBuffer);
+        CollisionStrategyFactory factory = new CollisionStrategyFactory(gameManager, brickGrid, null,
+                entityRegistry, ball, windowDimensions,
+                new PuckPool(entityRegistry, null, Sound.EMPTY_SOUND, windowDimensions, Constants.MAX_PUCKS),
+                new AssetCache(new HeadlessImageReader(windowController.messages()),
+                        new HeadlessSoundReader(windowController.messages())),
+                new HeadlessUserInputListener(), windowController,
+                new Counter(Constants.INITIAL_NUMBER_OF_LIVES), GameSettings.defaults(), new Random(),
+                new StrategyTriggerCounts(), new FrameProfiler(), new GameEventBus());
+
+        int operations = bricksPerRow * brickRows;
+        for (int i = 0; i < Math.min(operations, WARMUP_OPERATIONS); i++) {
+            factory.buildStrategy();
+        }
+        Measurement measurement = Measurement.start();
+        for (int i = 0; i < operations; i++) {
+            factory.buildStrategy();
+        }
+        return measurement.stop(operations);
+    }
+
+    /*
+     * Measures a ball bouncing off an object.
+     */
+    private static Measurement benchmarkBallCollision() {
+        Ball ball = new Ball(Vector2.ZERO, new Vector2(Constants.BALL_RADIUS, Constants.BALL_RADIUS), null,
+                Sound.EMPTY_SOUND, null);
+        ball.setVelocity(new Vector2(Constants.BALL_SPEED, Constants.BALL_SPEED));
+        GameObject other = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+        Collision collision = new FixedCollision(Vector2.UP);
+
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            ball.onCollisionEnter(other, collision);
+        }
+        Measurement measurement = Measurement.start();
+        for (int i = 0; i < MEASURED_OPERATIONS; i++) {
+            ball.onCollisionEnter(other, collision);
+        }
+        return measurement.stop(MEASURED_OPERATIONS);
+    }
+
+    /*
+     * Measures destroying a brick with the basic strategy, including its removal from the brick index.
+     */
+    private static Measurement benchmarkBrickCollision() {
+        BasicCollisionStrategy strategy = new BasicCollisionStrategy(
+                new BrickGrid(1, 1, Vector2.ZERO, Vector2.ONES, 0), null);
+        Counter bricksCounter = new Counter(WARMUP_OPERATIONS + MEASURED_OPERATIONS);
+        Ball ball = new Ball(Vector2.ZERO, Vector2.ONES, null, Sound.EMPTY_SOUND, null);
+        Collision collision = new FixedCollision(Vector2.DOWN);
+
+        Brick[] warmupBricks = createBricks(WARMUP_OPERATIONS, strategy, bricksCounter);
+        for (Brick brick : warmupBricks) {
+            brick.onCollisionEnter(ball, collision);
+        }
+        Brick[] bricks = createBricks(MEASURED_OPERATIONS, strategy, bricksCounter);
+        Measurement measurement = Measurement.start();
+        for (Brick brick : bricks) {
+            brick.onCollisionEnter(ball, collision);
+        }
+        return measurement.stop(MEASURED_OPERATIONS);
+    }
+
+    /*
+     * Creates bricks that share the given strategy. Like the game's bricks, they are not added to the
+     * engine's collection of game objects.
+     */
+    private static Brick[] createBricks(int count, BasicCollisionStrategy strategy, Counter bricksCounter) {
+        Brick[] bricks = new Brick[count];
+        Vector2 dimensions = new Vector2(Constants.BRICK_HEIGHT, Constants.BRICK_HEIGHT);
+        GameEventBus eventBus = new GameEventBus();
+        for (int i = 0; i < count; i++) {
+            bricks[i] = new Brick(Vector2.ZERO, dimensions, null, strategy, bricksCounter, eventBus);
+        }
+        return bricks;
+    }
+
+    /*
+     * Returns the dimensions of a window in which every brick of the board has a positive width, and the
+     * bricks lie in the upper half, above the ball's spawn point at the window's center and the paddle. A
+     * board that fits the default window is played in it.
+     */
+    private static Vector2 windowFor(int bricksPerRow, int brickRows) {
+        float width = Math.max(Constants.DEFAULT_WINDOW_WIDTH, 2 * Constants.BORDER_SIZE +
+                bricksPerRow * MIN_BRICK_WIDTH + (bricksPerRow - 1) * Constants.BRICKS_SPACE);
+        float bricksBottom = Constants.BORDER_SIZE +
+                brickRows * (Constants.BRICK_HEIGHT + Constants.BRICKS_SPACE);
+        float height = Math.max(Constants.DEFAULT_WINDOW_HEIGHT, 2 * (bricksBottom + Constants.BRICK_HEIGHT));
+        return new Vector2(width, height);
+    }
+
+    /*
+     * Prints a single result line.
+     */
+    private static void report(String benchmark, String board, String pucks, Measurement measurement) {
+        System.out.printf("%-34s %12s %12s %10.0f %8.0f%n", benchmark, board, pucks,
+                measurement.nanosPerOperation, measurement.bytesPerOperation);
+    }
+
+    /*
+     * The elapsed time and allocated bytes of a measured loop, per operation.
+     */
+    private static class Measurement {
+        private long startNanos;
+        private long startBytes;
+        private double nanosPerOperation;
+        private double bytesPerOperation;
+
+        static Measurement start() {
+            Measurement measurement = new Measurement();
+            measurement.startBytes = THREAD_BEAN.getCurrentThreadAllocatedBytes();
+            measurement.startNanos = System.nanoTime();
+            return measurement;
+        }
+
+        Measurement stop(int operations) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long allocatedBytes = THREAD_BEAN.getCurrentThreadAllocatedBytes() - startBytes;
+            nanosPerOperation = (double) elapsedNanos / operations;
+            bytesPerOperation = (double) allocatedBytes / operations;
+            return this;
+        }
+    }
+
+    /*
+     * A collision with a constant normal, used to trigger collision callbacks directly.
+     */
+    private static class FixedCollision implements Collision {
+        private final Vector2 normal;
+
+        FixedCollision(Vector2 normal) {
+            this.normal = normal;
+        }
+
+        @Override
+        public Vector2 getNormal() {
+            return normal;
+        }
+
+        @Override
+        public Vector2 getCollisionPoint() {
+            return Vector2.ZERO;
+        }
+
+        @Override
+        public Vector2 getPenetrationArea() {
+            return Vector2.ZERO;
+        }
+
+        @Override
+        public Vector2 getRelativeVelocity() {
+            return Vector2.ZERO;
+        }
+
+        @Override
+        public void onFrameStart() {
+        }
+    }
+
+    /*
+     * A headless game manager that keeps a number of extra pucks in play through its PuckPool, or through
+     * its swarm in chaos mode. The pucks are spawned just below the bricks, heading up into them, at a
+     * random x, so that they collide with the board rather than leave the window.
+     */
+    private static class BenchmarkGameManager extends BrickerGameManager {
+        private final Random random = new Random(0);
+        private final Vector2 velocityLeft = new Vector2(-Constants.BALL_SPEED, -Constants.BALL_SPEED);
+        private final Vector2 velocityRight = new Vector2(Constants.BALL_SPEED, -Constants.BALL_SPEED);
+        private final float spawnMinX;
+        private final float spawnWidth;
+        private final float spawnY;
+
+        BenchmarkGameManager(Vector2 windowDimensions, int bricksPerRow, int brickRows) {
+            this(windowDimensions, bricksPerRow, brickRows, GameSettings.defaults());
+        }
+
+        BenchmarkGameManager(Vector2 windowDimensions, int bricksPerRow, int brickRows,
+                             GameSettings settings) {
+            super(Constants.WINDOWS_TITLE, windowDimensions, bricksPerRow, brickRows, true, settings);
+            this.spawnMinX = Constants.BORDER_SIZE + Constants.PUCK_RADIUS;
+            this.spawnWidth = windowDimensions.x() - 2 * spawnMinX;
+            this.spawnY = Constants.BORDER_SIZE +
+                    brickRows * (Constants.BRICK_HEIGHT + Constants.BRICKS_SPACE) + Constants.PUCK_RADIUS;
+        }
+
+        void fillPool(int count) {
+            PuckPool puckPool = getPuckPool();
+            while (puckPool.getLiveCount() < count && spawnPuck(puckPool)) {
+                // keep spawning until the pool holds count live pucks
+            }
+        }
+
+        void fillSwarm(int count) {
+            PuckSwarm puckSwarm = getPuckSwarm();
+            while (puckSwarm.getLiveCount() < count && spawnPuck(puckSwarm)) {
+                // keep spawning until the swarm holds count live pucks
+            }
+        }
+
+        private boolean spawnPuck(PuckSpawner puckSpawner) {
+            Vector2 center = new Vector2(spawnMinX + random.nextFloat() * spawnWidth, spawnY);
+            return puckSpawner.spawnPuck(center, random.nextBoolean() ? velocityLeft : velocityRight);
+        }
+    }
+}
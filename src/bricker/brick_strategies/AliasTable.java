@@ -0,0 +1,94 @@
+package bricker.brick_strategies;
+
+import java.util.Random;
+
+/**
+ * AliasTable samples an index with probability proportional to its weight in constant time, by Vose's alias
+ * method. The weights are split into equal-probability columns, each holding at most two indices: its own,
+ * kept with the column's probability, and an alias that takes the rest of the column. A sample picks a
+ * column and then one of its two indices, both from a single uniform draw.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class AliasTable {
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /**
+     * Builds the table of the specified weights, in time linear in their number.
+     * @param weights The weights of the indices. Need not sum to 1.
+     * @throws IllegalArgumentException If a weight is negative or not finite, or all the weights are zero.
+     */
+    public AliasTable(double[] weights) {
+        int size = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("All the weights are zero");
+        }
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+        // the scaled weights average 1; columns below 1 are topped up by an alias from a column above 1
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            }
+            else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            }
+            else {
+                large[largeCount++] = more;
+            }
+        }
+        // whatever is left is 1 up to rounding errors
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * Samples an index.
+     * @param random The generator to draw from. Exactly one nextDouble() is drawn.
+     * @return An index, with probability proportional to its weight.
+     */
+    public int sample(Random random) {
+        double column = random.nextDouble() * probabilities.length;
+        int index = (int) column;
+        return column - index < probabilities[index] ? index : aliases[index];
+    }
+
+    /**
+     * Gets the number of indices of the table.
+     * @return The number of weights the table was built from.
+     */
+    public int size() {
+        return probabilities.length;
+    }
+}
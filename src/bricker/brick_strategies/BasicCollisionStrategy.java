@@ -1,37 +1,73 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickIndex;
+import bricker.gameobjects.CachedBrickLayer;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
-import danogl.collisions.Layer;
 
 /**
  * BasicCollisionStrategy represents a simple collision strategy for handling collisions
  * between game objects. In this strategy, when a collision occurs, the current brick
- * is removed from the screen.
+ * is removed from the screen. Strategies that do more when their brick is hit extend this one and override
+ * applyEffect and hasEffect, so that the removal and the effect can also be run separately.
  * @author Idan Hippach, Noam Barzilay
  */
 public class BasicCollisionStrategy implements CollisionStrategy {
-    /** Collection of game objects used to manage and update the game state. */
-    protected GameObjectCollection gameObjects;
+    /** Spatial index of the bricks, from which destroyed bricks are removed. */
+    protected BrickIndex brickIndex;
+    /** Cached image of the bricks, from which destroyed bricks are erased, or null if it is not drawn. */
+    protected CachedBrickLayer brickLayer;
 
     /**
-     * Constructs a BasicCollisionStrategy with the specified GameObjectCollection.
-     * @param gameObjects The collection of game objects to be used for collision handling.
+     * Constructs a BasicCollisionStrategy with the specified BrickIndex.
+     * @param brickIndex The spatial index of the bricks.
+     * @param brickLayer The cached image of the bricks, or null if the bricks are not drawn through one.
      */
-    public BasicCollisionStrategy(GameObjectCollection gameObjects){
-        this.gameObjects = gameObjects;
+    public BasicCollisionStrategy(BrickIndex brickIndex, CachedBrickLayer brickLayer){
+        this.brickIndex = brickIndex;
+        this.brickLayer = brickLayer;
     }
 
     /**
      * Handles the collision between two game objects.
-     * In this implementation, the current brick is removed from the screen.
+     * In this implementation, the current brick is removed from the screen, and then the strategy's effect,
+     * if any, is applied.
      * @param thisObj  The game object associated with this collision strategy.
      * @param otherObj The other game object involved in the collision.
      */
     @Override
     public void onCollision(GameObject thisObj, GameObject otherObj) {
-        // removes the current brick from the screen
-        gameObjects.removeGameObject(thisObj, Layer.STATIC_OBJECTS);
+        removeBrick(thisObj);
+        applyEffect(thisObj, otherObj);
+    }
+
+    /**
+     * Removes a destroyed brick from the brick index, so that nothing collides with it anymore, and erases
+     * only its own rectangle from the cached image of the bricks.
+     * @param brick The brick that was hit.
+     */
+    public void removeBrick(GameObject brick) {
+        brickIndex.remove(brick);
+        if (brickLayer != null) {
+            brickLayer.clearBrick(brick);
+        }
+    }
+
+    /**
+     * Applies what the strategy does besides removing the brick, such as spawning pucks. A basic brick is
+     * only removed, so this implementation does nothing.
+     * @param brick    The brick that was hit, already removed.
+     * @param otherObj The other game object involved in the collision.
+     */
+    public void applyEffect(GameObject brick, GameObject otherObj) {
+    }
+
+    /**
+     * Checks whether the strategy does anything besides removing the brick, so that a FlatCollisionStrategy
+     * can leave out strategies whose effect does nothing.
+     * @return True if applyEffect is overridden with an effect, false for a basic brick.
+     */
+    protected boolean hasEffect() {
+        return false;
     }
 
 }
@@ -1,10 +1,13 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickIndex;
+import bricker.engine.AssetCache;
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import bricker.gameobjects.CachedBrickLayer;
 import bricker.gameobjects.DroppingHeart;
 import bricker.main.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
@@ -17,36 +20,45 @@ import danogl.util.Vector2;
  */
 public class BrickCollisionAddsHeartStrategy extends BasicCollisionStrategy {
     private Counter livesCounter;
+    private EntityRegistry entityRegistry;
     private Renderable renderable;
-    private Vector2 windowDimensions;
 
     /**
      * Constructs a BrickCollisionAddsHeartStrategy with the specified parameters.
      * @param livesCounter     The Counter object tracking the number of lives in the game.
-     * @param gameObjects      The collection of game objects to be used for collision handling.
-     * @param imageReader      The ImageReader for reading the heart image.
-     * @param windowDimensions The dimensions of the game window.
+     * @param brickIndex       The spatial index of the bricks.
+     * @param brickLayer       The cached image of the bricks, or null if it is not drawn.
+     * @param entityRegistry   The registry of live entities, through which hearts are added.
+     * @param assetCache       The AssetCache holding the heart image.
      */
-    public BrickCollisionAddsHeartStrategy(Counter livesCounter, GameObjectCollection gameObjects,
-                                           ImageReader imageReader, Vector2 windowDimensions) {
-        super(gameObjects);
+    public BrickCollisionAddsHeartStrategy(Counter livesCounter, BrickIndex brickIndex,
+                                           CachedBrickLayer brickLayer, EntityRegistry entityRegistry,
+                                           AssetCache assetCache) {
+        super(brickIndex, brickLayer);
         this.livesCounter = livesCounter;
-        this.renderable = imageReader.readImage(Constants.HEART_IMAGE, true);
-        this.windowDimensions = windowDimensions;
+        this.entityRegistry = entityRegistry;
+        this.renderable = assetCache.getImage(Constants.HEART_IMAGE, true);
     }
 
     /**
-     * Handles the collision between two game objects.
-     * Adds a DroppingHeart to the game when a collision occurs.
-     * @param thisObj  The game object associated with this collision strategy.
+     * Adds a DroppingHeart to the game at the center of the brick.
+     * @param brick    The brick that was hit, already removed.
      * @param otherObj The other game object involved in the collision.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
-        DroppingHeart heart = new DroppingHeart(thisObj.getCenter(), new Vector2(Constants.HEART_SIZE,
-                Constants. HEART_SIZE), renderable, windowDimensions, gameObjects,
-                new DroppingHeartCollisionHandler(livesCounter, gameObjects));
-        gameObjects.addGameObject(heart);
+    public void applyEffect(GameObject brick, GameObject otherObj) {
+        DroppingHeart heart = new DroppingHeart(brick.getCenter(), new Vector2(Constants.HEART_SIZE,
+                Constants. HEART_SIZE), renderable, entityRegistry,
+                new DroppingHeartCollisionHandler(livesCounter, entityRegistry));
+        entityRegistry.addGameObject(heart, EntityKind.DROPPING_HEART);
+    }
+
+    /**
+     * Checks whether the strategy does anything besides removing the brick.
+     * @return True, as the strategy drops a heart.
+     */
+    @Override
+    protected boolean hasEffect() {
+        return true;
     }
 }
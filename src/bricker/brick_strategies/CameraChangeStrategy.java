@@ -1,9 +1,10 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickIndex;
 import bricker.gameobjects.Ball;
+import bricker.gameobjects.CachedBrickLayer;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 import danogl.gui.WindowController;
 import danogl.gui.rendering.Camera;
 import danogl.util.Counter;
@@ -23,29 +24,28 @@ public class CameraChangeStrategy extends BasicCollisionStrategy {
 
     /**
      * Constructs a CameraChangeStrategy with the specified parameters.
-     * @param gameObjects      The collection of game objects to be used for collision handling.
+     * @param brickIndex       The spatial index of the bricks.
+     * @param brickLayer       The cached image of the bricks, or null if it is not drawn.
      * @param ball             The Ball object associated with this strategy.
      * @param windowController The WindowController for managing the game window.
      * @param gameManager      The BrickerGameManager responsible for managing the game state.
      */
-    public CameraChangeStrategy(GameObjectCollection gameObjects, Ball ball,
+    public CameraChangeStrategy(BrickIndex brickIndex, CachedBrickLayer brickLayer, Ball ball,
                                 WindowController windowController, BrickerGameManager gameManager) {
-        super(gameObjects);
+        super(brickIndex, brickLayer);
         this.ball = ball;
         this.windowController = windowController;
         this.gameManager = gameManager;
     }
 
     /**
-     * Handles the collision between two game objects.
      * If the game manager's camera is not set and the collision involves the specified Ball object,
      * a new Camera is created to follow the Ball, providing a dynamic camera effect.
-     * @param thisObj  The game object associated with this collision strategy.
+     * @param brick    The brick that was hit, already removed.
      * @param otherObj The other game object involved in the collision.
      */
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-
-        super.onCollision(thisObj, otherObj);
+    @Override
+    public void applyEffect(GameObject brick, GameObject otherObj) {
         if (gameManager.camera() == null && otherObj == ball) {
             gameManager.setCamera(
                     new Camera(
@@ -59,4 +59,13 @@ public class CameraChangeStrategy extends BasicCollisionStrategy {
         }
     }
 
+    /**
+     * Checks whether the strategy does anything besides removing the brick.
+     * @return True, as the strategy changes the camera.
+     */
+    @Override
+    protected boolean hasEffect() {
+        return true;
+    }
+
 }
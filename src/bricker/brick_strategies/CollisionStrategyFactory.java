@@ -1,15 +1,24 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickIndex;
+import bricker.events.GameEventBus;
+import bricker.engine.AssetCache;
+import bricker.engine.EntityRegistry;
+import bricker.engine.PuckSpawner;
 import bricker.gameobjects.Ball;
+import bricker.gameobjects.CachedBrickLayer;
 import bricker.main.BrickerGameManager;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.SoundReader;
+import bricker.main.GameSettings;
+import bricker.profiling.FrameProfiler;
 import danogl.gui.UserInputListener;
 import danogl.gui.WindowController;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -17,69 +26,158 @@ import java.util.Random;
  * based on randomly generated values. It allows the creation of various collision strategies,
  * including strategies for extra pucks, extra paddle, camera change, dropping heart, double behavior, and
  * basic behavior.
+ * Strategies hold no per-brick state, so a single instance of each strategy type (and of each distinct
+ * double behavior combination) is shared by all the bricks that have it. Double behaviors are handed to
+ * bricks compiled into a FlatCollisionStrategy, which removes the brick once however deep the combination.
+ * The probabilities of the strategies come from the StrategyWeights of the game's GameSettings, from which
+ * each strategy type is drawn in constant time through an AliasTable, and every brick's strategy is
+ * wrapped so that its triggers are counted in a StrategyTriggerCounts and published on a GameEventBus,
+ * and its duration is recorded in a FrameProfiler.
  * @author Idan Hippach, Noam Barzilay
  */
 public class CollisionStrategyFactory {
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+    /** The types a half of a double behavior is drawn from: every type but basic behavior, double last. */
+    private static final StrategyType[] SPECIAL_TYPES = {
+            StrategyType.EXTRA_PUCKS, StrategyType.EXTRA_PADDLE, StrategyType.CAMERA_CHANGE,
+            StrategyType.DROPPING_HEART, StrategyType.DOUBLE_BEHAVIOR
+    };
+
     private BrickerGameManager gameManager;
-    private GameObjectCollection gameObjects;
+    private BrickIndex brickIndex;
+    private CachedBrickLayer brickLayer;
+    private EntityRegistry entityRegistry;
     private Ball ball;
     private Vector2 windowDimensions;
-    private SoundReader soundReader;
-    private ImageReader imageReader;
+    private PuckSpawner puckSpawner;
+    private AssetCache assetCache;
     private UserInputListener userInputListener;
     private WindowController windowController;
     private Counter livesCounter;
-    private Random random = new Random();
+    private GameSettings settings;
+    private Random random;
+    private StrategyTriggerCounts triggerCounts;
+    private FrameProfiler profiler;
+    private GameEventBus eventBus;
+    private final AliasTable strategyTable;
+    private final int doubleBehaviorDepth;
+    private final Map<StrategyType, CollisionStrategy> sharedStrategies = new EnumMap<>(StrategyType.class);
+    private final Map<StrategyType, CollisionStrategy> instrumentedStrategies =
+            new EnumMap<>(StrategyType.class);
+    private final Map<CollisionStrategy, CollisionStrategy> instrumentedDoubleStrategies =
+            new IdentityHashMap<>();
+    private final Map<CollisionStrategy, Map<CollisionStrategy, CollisionStrategy>> sharedDoubleStrategies =
+            new HashMap<>();
 
     /**
      * Constructs a CollisionStrategyFactory with the specified parameters.
      * @param gameManager         The BrickerGameManager responsible for managing the game state.
-     * @param gameObjects         The collection of game objects to be used for collision handling.
+     * @param brickIndex          The spatial index of the bricks.
+     * @param brickLayer          The cached image of the bricks, or null if it is not drawn.
+     * @param entityRegistry      The registry of live entities.
      * @param ball                The Ball object associated with collision strategies.
      * @param windowDimensions    The dimensions of the game window.
-     * @param soundReader         The SoundReader for reading sounds associated with collision strategies.
-     * @param imageReader         The ImageReader for reading images associated with collision strategies.
+     * @param puckSpawner         The spawner the extra pucks are put in play by.
+     * @param assetCache          The AssetCache holding the images associated with collision strategies.
      * @param userInputListener   The UserInputListener for handling user input in collision strategies.
      * @param windowController    The WindowController for managing the game window.
      * @param livesCounter        The Counter object tracking the number of lives in the game.
+     * @param settings            The settings holding the weights of the strategies.
+     * @param random              The game's random number generator, from which strategies are drawn.
+     * @param triggerCounts       The counts in which the triggers of the built strategies are recorded.
+     * @param profiler            The profiler in which the durations of the built strategies are recorded.
+     * @param eventBus            The bus on which the triggers of the built strategies are published.
      */
-    public CollisionStrategyFactory(BrickerGameManager gameManager, GameObjectCollection gameObjects,
-                                    Ball ball, Vector2 windowDimensions, SoundReader soundReader,
-                                    ImageReader imageReader, UserInputListener userInputListener,
-                                    WindowController windowController, Counter livesCounter) {
+    public CollisionStrategyFactory(BrickerGameManager gameManager,
+                                    BrickIndex brickIndex, CachedBrickLayer brickLayer,
+                                    EntityRegistry entityRegistry, Ball ball,
+                                    Vector2 windowDimensions,
+                                    PuckSpawner puckSpawner, AssetCache assetCache,
+                                    UserInputListener userInputListener,
+                                    WindowController windowController, Counter livesCounter,
+                                    GameSettings settings, Random random,
+                                    StrategyTriggerCounts triggerCounts, FrameProfiler profiler,
+                                    GameEventBus eventBus) {
         this.gameManager = gameManager;
-        this.gameObjects = gameObjects;
+        this.brickIndex = brickIndex;
+        this.brickLayer = brickLayer;
+        this.entityRegistry = entityRegistry;
         this.ball = ball;
         this.windowDimensions = windowDimensions;
-        this.soundReader = soundReader;
-        this.imageReader = imageReader;
+        this.puckSpawner = puckSpawner;
+        this.assetCache = assetCache;
         this.userInputListener = userInputListener;
         this.windowController = windowController;
         this.livesCounter = livesCounter;
+        this.settings = settings;
+        this.random = random;
+        this.triggerCounts = triggerCounts;
+        this.profiler = profiler;
+        this.eventBus = eventBus;
+        this.strategyTable = settings.getStrategyWeights().toAliasTable();
+        this.doubleBehaviorDepth = settings.getStrategyWeights().getDoubleBehaviorDepth();
+        for (StrategyType strategyType : StrategyType.values()) {
+            if (strategyType != StrategyType.DOUBLE_BEHAVIOR) {
+                CollisionStrategy strategy = createStrategy(strategyType);
+                sharedStrategies.put(strategyType, strategy);
+                instrumentedStrategies.put(strategyType, instrument(strategy, strategyType));
+            }
+        }
     }
 
     /**
-     * Randomly generates a collision strategy based on predefined probabilities.
+     * Randomly generates a collision strategy based on the weights of the game settings.
      * @return A CollisionStrategy instance representing the randomly generated strategy.
      */
     public CollisionStrategy buildStrategy() {
-        double generatedNum = random.nextDouble();
-        if (generatedNum > 0.9) {
-            return selectStrategy(StrategyType.EXTRA_PUCKS);
-        }
-        else if (generatedNum > 0.8) {
-            return selectStrategy(StrategyType.EXTRA_PADDLE);
-        }
-        else if (generatedNum > 0.7) {
-            return selectStrategy(StrategyType.CAMERA_CHANGE);
-        }
-        else if (generatedNum > 0.6) {
-            return selectStrategy(StrategyType.DROPPING_HEART);
+        return buildStrategy(STRATEGY_TYPES[strategyTable.sample(random)]);
+    }
+
+    /**
+     * Builds a collision strategy of the specified type, such as the strategy a designed level assigns to a
+     * brick. A double behavior combines two strategies chosen at random, as it does in buildStrategy().
+     * @param strategyType The type of the strategy, or null for a strategy drawn at random.
+     * @return A CollisionStrategy instance of the specified type.
+     */
+    public CollisionStrategy buildStrategy(StrategyType strategyType) {
+        if (strategyType == null) {
+            return buildStrategy();
         }
-        else if (generatedNum > 0.5) {
-            return createDoubleBehaviorStrategy();
+        if (strategyType == StrategyType.DOUBLE_BEHAVIOR) {
+            // each distinct double behavior is compiled once, and shared by all the bricks that have it
+            return instrumentedDoubleStrategies.computeIfAbsent(
+                    createDoubleBehaviorStrategy(doubleBehaviorDepth),
+                    strategy -> instrument(FlatCollisionStrategy.compile(strategy),
+                            StrategyType.DOUBLE_BEHAVIOR));
         }
-        return selectStrategy(StrategyType.BASIC_BEHAVIOR);
+        return instrumentedStrategies.get(strategyType);
+    }
+
+    /*
+     * Wraps a strategy handed to bricks so that its triggers are counted and timed.
+     */
+    private CollisionStrategy instrument(CollisionStrategy strategy, StrategyType strategyType) {
+        return new CountingCollisionStrategy(new TimingCollisionStrategy(strategy, profiler), strategyType,
+                triggerCounts, eventBus);
+    }
+
+    /*
+     * Returns the shared collision strategy of the given enum of the desired collision strategy
+     * (or null for Double Behavior).
+     */
+    private CollisionStrategy selectStrategy(StrategyType strategyType) {
+        return sharedStrategies.get(strategyType);
+    }
+
+    /*
+     * Returns the shared double behavior of the two given strategies, creating it on first use.
+     */
+    private CollisionStrategy combineStrategies(CollisionStrategy collisionStrategy1,
+                                                CollisionStrategy collisionStrategy2) {
+        return sharedDoubleStrategies
+                .computeIfAbsent(collisionStrategy1, first -> new HashMap<>())
+                .computeIfAbsent(collisionStrategy2,
+                        second -> new DoubleBehaviorStrategy(collisionStrategy1, collisionStrategy2));
     }
 
     /*
@@ -87,64 +185,54 @@ public class CollisionStrategyFactory {
      * Returns a CollisionStrategy instance corresponding to the selected strategy index (or null for
      * Double Behavior).
      */
-    private CollisionStrategy selectStrategy(StrategyType strategyType) {
+    private CollisionStrategy createStrategy(StrategyType strategyType) {
         if (strategyType == StrategyType.EXTRA_PUCKS) {
-            return new ExtraPucksStrategy(gameObjects, soundReader, imageReader);
+            return new ExtraPucksStrategy(brickIndex, brickLayer, puckSpawner, random,
+                    settings.getBallSpeed());
         }
         if (strategyType == StrategyType.EXTRA_PADDLE) {
-            return new ExtraPaddleStrategy(gameObjects, imageReader, userInputListener, windowDimensions);
+            return new ExtraPaddleStrategy(brickIndex, brickLayer, entityRegistry, assetCache,
+                    userInputListener, windowDimensions, settings.getPaddleWidth());
         }
         if (strategyType == StrategyType.CAMERA_CHANGE) {
-            return new CameraChangeStrategy(gameObjects, ball, windowController, gameManager);
+            return new CameraChangeStrategy(brickIndex, brickLayer, ball, windowController, gameManager);
         }
         if (strategyType == StrategyType.DROPPING_HEART) {
-            return new BrickCollisionAddsHeartStrategy(livesCounter, gameObjects, imageReader,
-                    windowDimensions);
+            return new BrickCollisionAddsHeartStrategy(livesCounter, brickIndex, brickLayer, entityRegistry,
+                    assetCache);
         }
         if (strategyType == StrategyType.DOUBLE_BEHAVIOR) {
             return null;
         }
         if (strategyType == StrategyType.BASIC_BEHAVIOR) {
-            return new BasicCollisionStrategy(gameObjects);
+            return new BasicCollisionStrategy(brickIndex, brickLayer);
         }
         return null;
     }
 
     /*
-     * Creates a CollisionStrategy with a combination of two randomly selected strategies,
-     * ensuring that at least one strategy is not null.
+     * Creates a double behavior of two strategies drawn uniformly from the special strategies. Either one,
+     * but not both, may itself be a double behavior while depth allows it, so the ordered pair is drawn
+     * directly from the pairs that do not combine two double behaviors, instead of redrawn until it does not.
      */
-    private CollisionStrategy createDoubleBehaviorStrategy() {
-        StrategyType[] values = StrategyType.values();
-        // Exclude BASIC_BEHAVIOR from random selection, adjust range accordingly
-        int range = values.length - 1; // Assuming BASIC_BEHAVIOR is the last enum and we want to exclude it
-        // Select two random strategies from special strategies
-        StrategyType index1 = values[random.nextInt(range)];
-        StrategyType index2 = values[random.nextInt(range)];
-        CollisionStrategy collisionStrategy1 = selectStrategy(index1);
-        CollisionStrategy collisionStrategy2 = selectStrategy(index2);
+    private CollisionStrategy createDoubleBehaviorStrategy(int depth) {
+        int types = depth > 1 ? SPECIAL_TYPES.length : SPECIAL_TYPES.length - 1;
+        // with double behavior allowed, it is the last type, so its pair with itself is the last pair
+        int pair = random.nextInt(depth > 1 ? types * types - 1 : types * types);
+        CollisionStrategy collisionStrategy1 = halfOfDoubleBehavior(SPECIAL_TYPES[pair / types], depth);
+        CollisionStrategy collisionStrategy2 = halfOfDoubleBehavior(SPECIAL_TYPES[pair % types], depth);
+        return combineStrategies(collisionStrategy1, collisionStrategy2);
+    }
 
-        // Ensure that both strategies are not double behavior
-        while (collisionStrategy1 == null && collisionStrategy2 == null) {
-            index1 = values[random.nextInt(range)];
-            index2 = values[random.nextInt(range)];
-            collisionStrategy1 = selectStrategy(index1);
-            collisionStrategy2 = selectStrategy(index2);
-        }
-        // if one of the strategies is null, create a double behavior with a random special strategy
-        // Exclude DOUBLE_BEHAVIOR from random selection, adjust range accordingly
-        range--; // Assuming DOUBLE_BEHAVIOR is one place before BASIC_BEHAVIOR
-        if (collisionStrategy1 == null) {
-            index1 = values[random.nextInt(range)];
-            index2 = values[random.nextInt(range)];
-            collisionStrategy1 = new DoubleBehaviorStrategy(selectStrategy(index1), selectStrategy(index2));
-        }
-        if (collisionStrategy2 == null) {
-            index1 = values[random.nextInt(range)];
-            index2 = values[random.nextInt(range)];
-            collisionStrategy2 = new DoubleBehaviorStrategy(selectStrategy(index1), selectStrategy(index2));
+    /*
+     * Returns the strategy of the given type for a half of a double behavior at the given depth, nesting a
+     * new double behavior one level deeper for Double Behavior.
+     */
+    private CollisionStrategy halfOfDoubleBehavior(StrategyType strategyType, int depth) {
+        if (strategyType == StrategyType.DOUBLE_BEHAVIOR) {
+            return createDoubleBehaviorStrategy(depth - 1);
         }
-        return new DoubleBehaviorStrategy(collisionStrategy1, collisionStrategy2);
+        return selectStrategy(strategyType);
     }
 }
 
@@ -0,0 +1,44 @@
+package bricker.brick_strategies;
+
+import bricker.events.GameEventBus;
+import bricker.events.GameEventType;
+import danogl.GameObject;
+
+/**
+ * CountingCollisionStrategy is a decorator that records every trigger of the collision strategy it wraps
+ * in a StrategyTriggerCounts and publishes it as a STRATEGY_TRIGGERED event, then delegates to it.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class CountingCollisionStrategy implements CollisionStrategyDecorator {
+    private final CollisionStrategy collisionStrategy;
+    private final StrategyType strategyType;
+    private final StrategyTriggerCounts triggerCounts;
+    private final GameEventBus eventBus;
+
+    /**
+     * Constructs a CountingCollisionStrategy with the specified parameters.
+     * @param collisionStrategy The collision strategy to count and delegate to.
+     * @param strategyType      The type the triggers are counted as.
+     * @param triggerCounts     The counts the triggers are recorded in.
+     * @param eventBus          The bus the triggers are published on.
+     */
+    public CountingCollisionStrategy(CollisionStrategy collisionStrategy, StrategyType strategyType,
+                                     StrategyTriggerCounts triggerCounts, GameEventBus eventBus) {
+        this.collisionStrategy = collisionStrategy;
+        this.strategyType = strategyType;
+        this.triggerCounts = triggerCounts;
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Records and publishes the trigger, and handles the collision with the wrapped strategy.
+     * @param thisObj  The game object associated with this collision strategy.
+     * @param otherObj The other game object involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject thisObj, GameObject otherObj) {
+        triggerCounts.record(strategyType);
+        eventBus.publish(GameEventType.STRATEGY_TRIGGERED, thisObj, strategyType.ordinal());
+        collisionStrategy.onCollision(thisObj, otherObj);
+    }
+}
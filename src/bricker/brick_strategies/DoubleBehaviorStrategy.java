@@ -33,4 +33,20 @@ public class DoubleBehaviorStrategy implements CollisionStrategyDecorator {
         collisionStrategy1.onCollision(thisObj, otherObj);
         collisionStrategy2.onCollision(thisObj, otherObj);
     }
+
+    /**
+     * Gets the first of the combined collision strategies.
+     * @return The first collision strategy.
+     */
+    public CollisionStrategy getFirstStrategy() {
+        return collisionStrategy1;
+    }
+
+    /**
+     * Gets the second of the combined collision strategies.
+     * @return The second collision strategy.
+     */
+    public CollisionStrategy getSecondStrategy() {
+        return collisionStrategy2;
+    }
 }
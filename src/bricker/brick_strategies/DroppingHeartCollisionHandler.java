@@ -1,8 +1,8 @@
 package bricker.brick_strategies;
 
+import bricker.engine.EntityRegistry;
 import bricker.main.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 import danogl.util.Counter;
 
 /**
@@ -13,17 +13,17 @@ import danogl.util.Counter;
  */
 public class DroppingHeartCollisionHandler implements CollisionStrategy {
     private Counter livesCounter;
-    private GameObjectCollection gameObjects;
+    private EntityRegistry entityRegistry;
 
     /**
      * Constructs a DroppingHeartCollisionHandler with the specified parameters.
      *
      * @param livesCounter The Counter object tracking the number of lives in the game.
-     * @param gameObjects  The collection of game objects to be used for collision handling.
+     * @param entityRegistry The registry of live entities, through which the heart is removed.
      */
-    public DroppingHeartCollisionHandler(Counter livesCounter, GameObjectCollection gameObjects) {
+    public DroppingHeartCollisionHandler(Counter livesCounter, EntityRegistry entityRegistry) {
         this.livesCounter = livesCounter;
-        this.gameObjects = gameObjects;
+        this.entityRegistry = entityRegistry;
     }
 
     /**
@@ -39,7 +39,7 @@ public class DroppingHeartCollisionHandler implements CollisionStrategy {
             if (livesCounter.value() < Constants.MAX_NUM_OF_HEARTS) {
                 livesCounter.increment();
             }
-            gameObjects.removeGameObject(thisObj);
+            entityRegistry.removeGameObject(thisObj);
         }
     }
 }
@@ -1,9 +1,9 @@
 package bricker.brick_strategies;
 
 import bricker.gameobjects.GraphicLifeCounter;
+import bricker.engine.EntityRegistry;
 import bricker.main.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 import danogl.util.Counter;
 
 /**
@@ -19,19 +19,19 @@ public class DroppingHeartStrategy implements CollisionStrategy {
     private Counter livesCounter;
 
     /**
-     * Collection of game objects used to manage and update the game state.
+     * Registry of live entities, through which the heart is removed from the game.
      */
-    private GameObjectCollection gameObjects;
+    private EntityRegistry entityRegistry;
 
     /**
      * Constructs a DroppingHeartStrategy with the specified parameters.
      *
      * @param livesCounter The Counter object tracking the number of lives in the game.
-     * @param gameObjects  The collection of game objects to be used for collision handling.
+     * @param entityRegistry The registry of live entities, through which the heart is removed.
      */
-    public DroppingHeartStrategy(Counter livesCounter, GameObjectCollection gameObjects) {
+    public DroppingHeartStrategy(Counter livesCounter, EntityRegistry entityRegistry) {
         this.livesCounter = livesCounter;
-        this.gameObjects = gameObjects;
+        this.entityRegistry = entityRegistry;
     }
 
     /**
@@ -50,7 +50,7 @@ public class DroppingHeartStrategy implements CollisionStrategy {
                 livesCounter.increment();
             }
             // Remove the DroppingHeart from the game
-            gameObjects.removeGameObject(thisObj);
+            entityRegistry.removeGameObject(thisObj);
         }
     }
 }
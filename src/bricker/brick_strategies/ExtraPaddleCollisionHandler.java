@@ -1,8 +1,8 @@
 package bricker.brick_strategies;
 
+import bricker.engine.EntityRegistry;
 import bricker.main.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
 import danogl.util.Counter;
 
 /**
@@ -12,15 +12,15 @@ import danogl.util.Counter;
  * @author Idan Hippach, Noam Barzilay
  */
 public class ExtraPaddleCollisionHandler implements CollisionStrategy {
-    GameObjectCollection gameObjects;
+    private EntityRegistry entityRegistry;
     private Counter hitsCounter;
 
     /**
      * Constructs an ExtraPaddleCollisionHandler with the specified parameters.
-     * @param gameObjects The collection of game objects to be used for collision handling.
+     * @param entityRegistry The registry of live entities, through which the extra paddle is removed.
      */
-    public ExtraPaddleCollisionHandler(GameObjectCollection gameObjects) {
-        this.gameObjects = gameObjects;
+    public ExtraPaddleCollisionHandler(EntityRegistry entityRegistry) {
+        this.entityRegistry = entityRegistry;
         this.hitsCounter = new Counter();
     }
 
@@ -36,7 +36,7 @@ public class ExtraPaddleCollisionHandler implements CollisionStrategy {
         hitsCounter.increment();
         if (hitsCounter.value() == Constants.PADDLE_HITS_TILL_DESTRUCTION) {
             hitsCounter.reset();
-            gameObjects.removeGameObject(thisObj);
+            entityRegistry.removeGameObject(thisObj);
         }
     }
 }
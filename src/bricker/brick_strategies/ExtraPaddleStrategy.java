@@ -1,10 +1,14 @@
 package bricker.brick_strategies;
 
+import bricker.collisions.BrickIndex;
+import bricker.engine.AssetCache;
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import bricker.engine.Positions;
+import bricker.gameobjects.CachedBrickLayer;
 import bricker.gameobjects.ExtraPaddle;
 import bricker.main.Constants;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
@@ -16,54 +20,65 @@ import danogl.util.Vector2;
  * @author Idan Hippach, Noam Barzilay
  */
 public class ExtraPaddleStrategy extends BasicCollisionStrategy {
-    private ImageReader imageReader;
+    private EntityRegistry entityRegistry;
+    private AssetCache assetCache;
     private UserInputListener inputListener;
     private Vector2 windowDimensions;
-    private ExtraPaddle extraPaddle;
+    private float paddleWidth;
 
     /**
      * Constructs an ExtraPaddleStrategy with the specified parameters.
-     * @param gameObjects      The collection of game objects to be used for collision handling.
-     * @param imageReader      The ImageReader for reading images associated with the ExtraPaddle.
+     * @param brickIndex       The spatial index of the bricks.
+     * @param brickLayer       The cached image of the bricks, or null if it is not drawn.
+     * @param entityRegistry   The registry of live entities, used to find and add the ExtraPaddle.
+     * @param assetCache       The AssetCache holding the images associated with the ExtraPaddle.
      * @param inputListener    The UserInputListener for handling user input in the ExtraPaddle.
      * @param windowDimensions The dimensions of the game window.
+     * @param paddleWidth      The width of the ExtraPaddle.
      */
-    public ExtraPaddleStrategy(GameObjectCollection gameObjects, ImageReader imageReader, UserInputListener
-            inputListener, Vector2 windowDimensions) {
-        super(gameObjects);
-        this.imageReader = imageReader;
+    public ExtraPaddleStrategy(BrickIndex brickIndex, CachedBrickLayer brickLayer,
+                               EntityRegistry entityRegistry, AssetCache assetCache,
+                               UserInputListener inputListener, Vector2 windowDimensions, float paddleWidth) {
+        super(brickIndex, brickLayer);
+        this.entityRegistry = entityRegistry;
+        this.assetCache = assetCache;
         this.inputListener = inputListener;
         this.windowDimensions = windowDimensions;
+        this.paddleWidth = paddleWidth;
     }
 
     /**
-     * Handles the collision between bricks and the main paddle.
-     * If there is no existing ExtraPaddle in the game, it adds a new one.
-     * @param thisObj  The game object associated with this collision strategy (brick).
-     * @param otherObj The other game object involved in the collision (main paddle).
+     * If there is no existing ExtraPaddle in the game, adds a new one.
+     * @param brick    The brick that was hit, already removed.
+     * @param otherObj The other game object involved in the collision.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
-        for (GameObject gameObject : gameObjects) {
-            if (gameObject.getTag().equals("ExtraPaddle")) {
-                return;
-            }
+    public void applyEffect(GameObject brick, GameObject otherObj) {
+        if (!entityRegistry.contains(EntityKind.EXTRA_PADDLE)) {
+            addPaddle();
         }
-        addPaddle();
+    }
+
+    /**
+     * Checks whether the strategy does anything besides removing the brick.
+     * @return True, as the strategy adds a paddle.
+     */
+    @Override
+    protected boolean hasEffect() {
+        return true;
     }
 
     /*
      * Adds a new ExtraPaddle to the game with the specified parameters.
      */
     private void addPaddle() {
-        Renderable paddleImg = imageReader.readImage(Constants.PADDLE_IMAGE, true);
+        Renderable paddleImg = assetCache.getImage(Constants.PADDLE_IMAGE, true);
 
-        extraPaddle = new ExtraPaddle(Vector2.ZERO, new Vector2(Constants.PADDLE_WIDTH,
+        ExtraPaddle extraPaddle = new ExtraPaddle(Vector2.ZERO, new Vector2(paddleWidth,
                 Constants.PADDLE_HEIGHT), paddleImg, inputListener, windowDimensions,
-                new ExtraPaddleCollisionHandler(gameObjects));
-        extraPaddle.setCenter(windowDimensions.mult(0.5f));
+                new ExtraPaddleCollisionHandler(entityRegistry));
+        Positions.centerAt(extraPaddle, windowDimensions.mult(0.5f));
         extraPaddle.setTag("ExtraPaddle");
-        gameObjects.addGameObject(extraPaddle);
+        entityRegistry.addGameObject(extraPaddle, EntityKind.EXTRA_PADDLE);
     }
 }
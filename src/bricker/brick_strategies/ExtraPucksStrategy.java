@@ -1,13 +1,9 @@
 package bricker.brick_strategies;
 
-import bricker.gameobjects.Ball;
-import bricker.main.Constants;
+import bricker.collisions.BrickIndex;
+import bricker.engine.PuckSpawner;
+import bricker.gameobjects.CachedBrickLayer;
 import danogl.GameObject;
-import danogl.collisions.GameObjectCollection;
-import danogl.gui.ImageReader;
-import danogl.gui.Sound;
-import danogl.gui.SoundReader;
-import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
 import java.util.Random;
@@ -15,67 +11,67 @@ import java.util.Random;
 /**
  * ExtraPucksStrategy is a collision strategy for handling collisions between bricks
  * and the main paddle. When a collision occurs, this strategy spawns two extra pucks
- * at the center of the brick, each with a randomized velocity direction.
+ * at the center of the brick, each with a randomized velocity direction. The pucks are put in play by a
+ * PuckSpawner: a bounded PuckPool, which reclaims them once they leave the play area, or the PuckSwarm of
+ * the chaos mode.
  * @author Idan Hippach, Noam Barzilay
  */
 public class ExtraPucksStrategy extends BasicCollisionStrategy {
-    private ImageReader imageReader;
-    private SoundReader soundReader;
-    private Random rand = new Random();
+    private PuckSpawner puckSpawner;
+    private Random rand;
+    private float ballSpeed;
 
     /**
      * Constructs an ExtraPucksStrategy with the specified parameters.
-     * @param gameObjects  The collection of game objects to be used for collision handling.
-     * @param soundReader  The SoundReader for reading sounds associated with the extra pucks.
-     * @param imageReader  The ImageReader for reading images associated with the extra pucks.
+     * @param brickIndex    The spatial index of the bricks.
+     * @param brickLayer    The cached image of the bricks, or null if it is not drawn.
+     * @param puckSpawner   The spawner the extra pucks are put in play by.
+     * @param random        The game's random number generator, from which the pucks' directions are drawn.
+     * @param ballSpeed     The speed of the pucks along each axis.
      */
-    public ExtraPucksStrategy(GameObjectCollection gameObjects, SoundReader soundReader,
-                              ImageReader imageReader) {
-        super(gameObjects);
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
+    public ExtraPucksStrategy(BrickIndex brickIndex, CachedBrickLayer brickLayer, PuckSpawner puckSpawner,
+                              Random random, float ballSpeed) {
+        super(brickIndex, brickLayer);
+        this.puckSpawner = puckSpawner;
+        this.rand = random;
+        this.ballSpeed = ballSpeed;
     }
 
     /**
-     * Handles the collision between bricks and the main paddle.
      * Spawns two extra pucks at the center of the brick, each with a randomized velocity direction.
-     * @param thisObj  The game object associated with this collision strategy (brick).
-     * @param otherObj The other game object involved in the collision (main paddle).
+     * @param brick    The brick that was hit, already removed.
+     * @param otherObj The other game object involved in the collision.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
+    public void applyEffect(GameObject brick, GameObject otherObj) {
         // spawn both pucks
-        addPucks(thisObj);
+        addPucks(brick);
+    }
+
+    /**
+     * Checks whether the strategy does anything besides removing the brick.
+     * @return True, as the strategy spawns pucks.
+     */
+    @Override
+    protected boolean hasEffect() {
+        return true;
     }
 
     /*
      * Spawns two extra pucks at the center of the specified brick, each with a randomized velocity direction.
      */
     private void addPucks(GameObject curBrick){
-        Renderable ballImage = imageReader.readImage(Constants.PUCK_IMAGE, true);
-        Sound collisionSound = soundReader.readSound(Constants.BALL_SOUND);
-        Ball puck1 = new Ball(Vector2.ZERO, new Vector2(Constants.PUCK_RADIUS, Constants.PUCK_RADIUS),
-                ballImage, collisionSound,
-                null);
-        Ball puck2 = new Ball(Vector2.ZERO, new Vector2(Constants.PUCK_RADIUS, Constants.PUCK_RADIUS),
-                ballImage, collisionSound,
-                null);
-        spawnBall(puck1, curBrick);
-        spawnBall(puck2, curBrick);
-        gameObjects.addGameObject(puck1);
-        gameObjects.addGameObject(puck2);
+        spawnBall(curBrick);
+        spawnBall(curBrick);
     }
 
     /*
-     * Sets the position and velocity of the specified puck based in the center of the brick
-     * and randomizes the direction of each axis' velocity.
+     * Spawns a puck at the center of the brick and randomizes the direction of each axis'
+     * velocity.
      */
-    private void spawnBall(Ball puck, GameObject curBrick) {
-        // set puck to spawn at the center of the brick
-        puck.setCenter(new Vector2(curBrick.getCenter()));
-        float ballVelX = Constants.BALL_SPEED;
-        float ballVelY = Constants.BALL_SPEED;
+    private void spawnBall(GameObject curBrick) {
+        float ballVelX = ballSpeed;
+        float ballVelY = ballSpeed;
         // by 50% chance we invert the direction of each axis' velocity
         if (rand.nextBoolean()){
             ballVelX *= -1;
@@ -83,7 +79,8 @@ public class ExtraPucksStrategy extends BasicCollisionStrategy {
         if (rand.nextBoolean()){
             ballVelY *= -1;
         }
-        puck.setVelocity(new Vector2(ballVelX, ballVelY));
+        // set puck to spawn at the center of the brick
+        puckSpawner.spawnPuck(curBrick.getCenter(), new Vector2(ballVelX, ballVelY));
     }
 
 }
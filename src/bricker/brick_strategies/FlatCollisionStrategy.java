@@ -0,0 +1,92 @@
+package bricker.brick_strategies;
+
+import danogl.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FlatCollisionStrategy is a DoubleBehaviorStrategy tree compiled into a flat list, once, when it is built.
+ * Executed as a tree, every strategy of a double behavior removes the brick again, so a brick with three
+ * behaviors is removed from the collection, the brick index and the cached brick layer three times per hit.
+ * A FlatCollisionStrategy removes the brick once, and then applies the effects of the tree's strategies one
+ * after the other, in the order the tree would have applied them, leaving out the strategies that have no
+ * effect. A strategy that appears in the tree more than once keeps all its effects, as a double behavior of
+ * two extra pucks strategies spawns four pucks.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class FlatCollisionStrategy implements CollisionStrategy {
+    private final BasicCollisionStrategy removal;
+    private final BasicCollisionStrategy[] effects;
+
+    /**
+     * Constructs a FlatCollisionStrategy with the specified parameters.
+     * @param removal The strategy whose removeBrick removes the brick.
+     * @param effects The strategies whose applyEffect is applied after the removal, in order.
+     */
+    public FlatCollisionStrategy(BasicCollisionStrategy removal, BasicCollisionStrategy[] effects) {
+        this.removal = removal;
+        this.effects = effects;
+    }
+
+    /**
+     * Compiles a collision strategy into a FlatCollisionStrategy. The brick is removed by the first strategy
+     * of the tree, since all the strategies of a CollisionStrategyFactory remove bricks the same way.
+     * @param collisionStrategy The strategy to compile, such as a DoubleBehaviorStrategy.
+     * @return The compiled strategy, or collisionStrategy itself if the tree has a strategy that does not
+     *         extend BasicCollisionStrategy, and so cannot be split into a removal and an effect.
+     */
+    public static CollisionStrategy compile(CollisionStrategy collisionStrategy) {
+        List<BasicCollisionStrategy> strategies = new ArrayList<>();
+        if (!collectStrategies(collisionStrategy, strategies)) {
+            return collisionStrategy;
+        }
+        List<BasicCollisionStrategy> effects = new ArrayList<>();
+        for (BasicCollisionStrategy strategy : strategies) {
+            if (strategy.hasEffect()) {
+                effects.add(strategy);
+            }
+        }
+        return new FlatCollisionStrategy(strategies.get(0),
+                effects.toArray(new BasicCollisionStrategy[0]));
+    }
+
+    /**
+     * Removes the brick, and applies the effects of the compiled strategies.
+     * @param thisObj  The game object associated with this collision strategy.
+     * @param otherObj The other game object involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject thisObj, GameObject otherObj) {
+        removal.removeBrick(thisObj);
+        for (BasicCollisionStrategy effect : effects) {
+            effect.applyEffect(thisObj, otherObj);
+        }
+    }
+
+    /**
+     * Gets the number of effects applied on a hit.
+     * @return The number of effects.
+     */
+    public int getEffectCount() {
+        return effects.length;
+    }
+
+    /*
+     * Adds the leaves of a strategy tree to the list, in the order the tree applies them. Returns false if a
+     * leaf is not a BasicCollisionStrategy.
+     */
+    private static boolean collectStrategies(CollisionStrategy collisionStrategy,
+                                             List<BasicCollisionStrategy> strategies) {
+        if (collisionStrategy instanceof DoubleBehaviorStrategy) {
+            DoubleBehaviorStrategy doubleBehavior = (DoubleBehaviorStrategy) collisionStrategy;
+            return collectStrategies(doubleBehavior.getFirstStrategy(), strategies) &&
+                    collectStrategies(doubleBehavior.getSecondStrategy(), strategies);
+        }
+        if (collisionStrategy instanceof BasicCollisionStrategy) {
+            strategies.add((BasicCollisionStrategy) collisionStrategy);
+            return true;
+        }
+        return false;
+    }
+}
@@ -24,6 +24,14 @@ public class MainBallCollisionHandler implements CollisionStrategy {
         this.cameraCounter = new Counter();
     }
 
+    /**
+     * Forgets the collisions counted since the camera started following the ball, such as when a new game
+     * starts.
+     */
+    public void reset() {
+        cameraCounter.reset();
+    }
+
     /**
      * Handles collisions between the main ball and other game objects.
      * Keeps track of the main ball when a camera change was set till it hits a certain number of collisions,
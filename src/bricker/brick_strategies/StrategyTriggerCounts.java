@@ -0,0 +1,47 @@
+package bricker.brick_strategies;
+
+import java.util.Arrays;
+
+/**
+ * StrategyTriggerCounts counts how many times the collision strategy of each type was triggered, that is,
+ * how many bricks of each strategy type were destroyed. A double behavior counts once, as DOUBLE_BEHAVIOR.
+ * Each game has its own counts, so they are not synchronized.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class StrategyTriggerCounts {
+    private final long[] counts = new long[StrategyType.values().length];
+
+    /**
+     * Records that a strategy of the specified type was triggered.
+     * @param strategyType The type of the triggered strategy.
+     */
+    public void record(StrategyType strategyType) {
+        counts[strategyType.ordinal()]++;
+    }
+
+    /**
+     * Gets the number of times a strategy of the specified type was triggered.
+     * @param strategyType The type of strategy.
+     * @return The number of triggers.
+     */
+    public long count(StrategyType strategyType) {
+        return counts[strategyType.ordinal()];
+    }
+
+    /**
+     * Sets every count back to zero, such as when a new game starts.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * Adds the counts of another StrategyTriggerCounts to these counts.
+     * @param other The counts to add.
+     */
+    public void addAll(StrategyTriggerCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package bricker.brick_strategies;
+
+import bricker.main.Constants;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * StrategyWeights holds the mix of strategies the CollisionStrategyFactory draws the bricks' strategies from:
+ * a weight per StrategyType, the probability of each type being its weight divided by the sum of the
+ * weights, and the depth to which double behaviors may be nested.
+ * Weights can be loaded from a properties file, with a StrategyType name per key (such as EXTRA_PUCKS=2)
+ * and the depth under DOUBLE_BEHAVIOR_DEPTH. Types missing from the file keep their default weight.
+ * Weights are immutable; the with* methods return modified copies.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class StrategyWeights {
+    /** The key of the double behavior nesting depth in a weights file. */
+    public static final String DOUBLE_BEHAVIOR_DEPTH_KEY = "DOUBLE_BEHAVIOR_DEPTH";
+
+    private final double[] weights;
+    private final int doubleBehaviorDepth;
+
+    /*
+     * Constructs StrategyWeights with the given values. The weights array is owned by the new weights.
+     */
+    private StrategyWeights(double[] weights, int doubleBehaviorDepth) {
+        this.weights = weights;
+        this.doubleBehaviorDepth = doubleBehaviorDepth;
+    }
+
+    /**
+     * Creates the default mix of strategies: half of the bricks are basic, and the other half is split
+     * evenly between the special strategies, with up to one double behavior nested in another.
+     * @return The default weights.
+     */
+    public static StrategyWeights defaults() {
+        double[] weights = new double[StrategyType.values().length];
+        weights[StrategyType.EXTRA_PUCKS.ordinal()] = Constants.EXTRA_PUCKS_WEIGHT;
+        weights[StrategyType.EXTRA_PADDLE.ordinal()] = Constants.EXTRA_PADDLE_WEIGHT;
+        weights[StrategyType.CAMERA_CHANGE.ordinal()] = Constants.CAMERA_CHANGE_WEIGHT;
+        weights[StrategyType.DROPPING_HEART.ordinal()] = Constants.DROPPING_HEART_WEIGHT;
+        weights[StrategyType.DOUBLE_BEHAVIOR.ordinal()] = Constants.DOUBLE_BEHAVIOR_WEIGHT;
+        weights[StrategyType.BASIC_BEHAVIOR.ordinal()] = Constants.BASIC_BEHAVIOR_WEIGHT;
+        return new StrategyWeights(weights, Constants.DOUBLE_BEHAVIOR_DEPTH);
+    }
+
+    /**
+     * Loads weights from a properties file, on top of the default weights.
+     * @param weightsFile The properties file.
+     * @return The loaded weights.
+     * @throws IOException If the file cannot be read, or has an unknown key or an invalid value.
+     */
+    public static StrategyWeights load(Path weightsFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(weightsFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        StrategyWeights strategyWeights = defaults();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            try {
+                if (key.equals(DOUBLE_BEHAVIOR_DEPTH_KEY)) {
+                    strategyWeights = strategyWeights.withDoubleBehaviorDepth(Integer.parseInt(value));
+                }
+                else {
+                    strategyWeights = strategyWeights.withWeight(StrategyType.valueOf(key),
+                            Double.parseDouble(value));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid strategy weight " + key + "=" + value + " in " + weightsFile,
+                        e);
+            }
+        }
+        return strategyWeights;
+    }
+
+    /**
+     * Returns a copy of these weights with a different weight for a strategy.
+     * @param strategyType The strategy whose weight is changed.
+     * @param weight       The new weight.
+     * @return The modified weights.
+     * @throws IllegalArgumentException If the weight is negative or not finite.
+     */
+    public StrategyWeights withWeight(StrategyType strategyType, double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Invalid weight " + weight + " of " + strategyType);
+        }
+        double[] newWeights = weights.clone();
+        newWeights[strategyType.ordinal()] = weight;
+        return new StrategyWeights(newWeights, doubleBehaviorDepth);
+    }
+
+    /**
+     * Returns a copy of these weights with a different double behavior nesting depth.
+     * @param newDoubleBehaviorDepth The number of double behaviors that may be nested in one another,
+     *                               counting the outermost; 1 for double behaviors of two plain strategies.
+     * @return The modified weights.
+     * @throws IllegalArgumentException If the depth is less than 1.
+     */
+    public StrategyWeights withDoubleBehaviorDepth(int newDoubleBehaviorDepth) {
+        if (newDoubleBehaviorDepth < 1) {
+            throw new IllegalArgumentException("Invalid double behavior depth " + newDoubleBehaviorDepth);
+        }
+        return new StrategyWeights(weights, newDoubleBehaviorDepth);
+    }
+
+    /**
+     * Gets the weight of a strategy.
+     * @param strategyType The strategy.
+     * @return The weight of the strategy.
+     */
+    public double getWeight(StrategyType strategyType) {
+        return weights[strategyType.ordinal()];
+    }
+
+    /**
+     * Gets the number of double behaviors that may be nested in one another, counting the outermost.
+     * @return The double behavior nesting depth.
+     */
+    public int getDoubleBehaviorDepth() {
+        return doubleBehaviorDepth;
+    }
+
+    /**
+     * Builds the table from which strategy types are drawn, indexed by the ordinals of StrategyType.
+     * @return The alias table of the weights.
+     * @throws IllegalArgumentException If all the weights are zero.
+     */
+    public AliasTable toAliasTable() {
+        return new AliasTable(weights);
+    }
+}
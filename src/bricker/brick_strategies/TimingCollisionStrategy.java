@@ -0,0 +1,37 @@
+package bricker.brick_strategies;
+
+import bricker.profiling.FramePhase;
+import bricker.profiling.FrameProfiler;
+import danogl.GameObject;
+
+/**
+ * TimingCollisionStrategy is a decorator that records the duration of every call to the collision
+ * strategy it wraps as a STRATEGY_CALLBACKS phase of a FrameProfiler.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class TimingCollisionStrategy implements CollisionStrategyDecorator {
+    private final CollisionStrategy collisionStrategy;
+    private final FrameProfiler profiler;
+
+    /**
+     * Constructs a TimingCollisionStrategy with the specified parameters.
+     * @param collisionStrategy The collision strategy to time and delegate to.
+     * @param profiler          The profiler the durations are recorded in.
+     */
+    public TimingCollisionStrategy(CollisionStrategy collisionStrategy, FrameProfiler profiler) {
+        this.collisionStrategy = collisionStrategy;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Handles the collision with the wrapped strategy, and records how long it took.
+     * @param thisObj  The game object associated with this collision strategy.
+     * @param otherObj The other game object involved in the collision.
+     */
+    @Override
+    public void onCollision(GameObject thisObj, GameObject otherObj) {
+        long start = System.nanoTime();
+        collisionStrategy.onCollision(thisObj, otherObj);
+        profiler.record(FramePhase.STRATEGY_CALLBACKS, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,110 @@
+package bricker.collisions;
+
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.util.Vector2;
+
+/**
+ * BrickCollision is the collision information passed to game objects whose collision was found by a
+ * custom broad phase (such as BrickGrid or BrickField) rather than by the engine's collision resolver.
+ * The normal is along the axis of least penetration and points from the other object towards the
+ * object that receives the collision.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class BrickCollision implements Collision {
+    private final Vector2 normal;
+    private final Vector2 collisionPoint;
+    private final Vector2 penetrationArea;
+    private final Vector2 relativeVelocity;
+
+    /**
+     * Constructs a BrickCollision with the specified parameters.
+     * @param normal           The collision normal, from the other object towards the receiving object.
+     * @param collisionPoint   The center of the overlapping area.
+     * @param penetrationArea  The width and height of the overlapping area.
+     * @param relativeVelocity The velocity of the other object relative to the receiving object.
+     */
+    public BrickCollision(Vector2 normal, Vector2 collisionPoint, Vector2 penetrationArea,
+                          Vector2 relativeVelocity) {
+        this.normal = normal;
+        this.collisionPoint = collisionPoint;
+        this.penetrationArea = penetrationArea;
+        this.relativeVelocity = relativeVelocity;
+    }
+
+    /**
+     * Computes the collision between two overlapping axis-aligned objects, as seen by the first one.
+     * @param receiver The object that receives the collision.
+     * @param other    The object it collided with.
+     * @return The collision information, as seen by the receiver.
+     */
+    public static BrickCollision between(GameObject receiver, GameObject other) {
+        Vector2 receiverTopLeft = receiver.getTopLeftCorner();
+        Vector2 receiverDimensions = receiver.getDimensions();
+        Vector2 otherTopLeft = other.getTopLeftCorner();
+        Vector2 otherDimensions = other.getDimensions();
+        float left = Math.max(receiverTopLeft.x(), otherTopLeft.x());
+        float right = Math.min(receiverTopLeft.x() + receiverDimensions.x(),
+                otherTopLeft.x() + otherDimensions.x());
+        float top = Math.max(receiverTopLeft.y(), otherTopLeft.y());
+        float bottom = Math.min(receiverTopLeft.y() + receiverDimensions.y(),
+                otherTopLeft.y() + otherDimensions.y());
+        float overlapWidth = right - left;
+        float overlapHeight = bottom - top;
+
+        Vector2 centersDelta = receiver.getCenter().subtract(other.getCenter());
+        Vector2 normal;
+        if (overlapWidth < overlapHeight) {
+            normal = centersDelta.x() < 0 ? Vector2.LEFT : Vector2.RIGHT;
+        } else {
+            normal = centersDelta.y() < 0 ? Vector2.UP : Vector2.DOWN;
+        }
+        return new BrickCollision(normal,
+                new Vector2((left + right) / 2, (top + bottom) / 2),
+                new Vector2(overlapWidth, overlapHeight),
+                other.getVelocity().subtract(receiver.getVelocity()));
+    }
+
+    /**
+     * Gets the collision normal.
+     * @return The collision normal.
+     */
+    @Override
+    public Vector2 getNormal() {
+        return normal;
+    }
+
+    /**
+     * Gets the center of the overlapping area.
+     * @return The collision point.
+     */
+    @Override
+    public Vector2 getCollisionPoint() {
+        return collisionPoint;
+    }
+
+    /**
+     * Gets the width and height of the overlapping area.
+     * @return The penetration area.
+     */
+    @Override
+    public Vector2 getPenetrationArea() {
+        return penetrationArea;
+    }
+
+    /**
+     * Gets the velocity of the other object relative to the receiving object.
+     * @return The relative velocity.
+     */
+    @Override
+    public Vector2 getRelativeVelocity() {
+        return relativeVelocity;
+    }
+
+    /**
+     * Nothing to refresh, a BrickCollision describes a single frame.
+     */
+    @Override
+    public void onFrameStart() {
+    }
+}
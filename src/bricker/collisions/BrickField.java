@@ -0,0 +1,388 @@
+package bricker.collisions;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.events.GameEventBus;
+import bricker.events.GameEventType;
+import danogl.GameObject;
+import danogl.util.Counter;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * BrickField is a struct-of-arrays representation of the bricks of a very large board. Instead of one
+ * Brick game object per brick, the geometry of all the bricks is kept in primitive arrays, the bricks that
+ * are still alive are kept in a bitset, and each brick's collision strategy is kept as a compact code into
+ * a table of the (shared) strategies of the board. A million bricks take about 35 MB including their
+ * index, and scanning them walks a few contiguous arrays.
+ * Bricks are found through a uniform grid built by buildIndex(), which, unlike BrickGrid, does not assume
+ * the bricks are laid out in regular rows and columns.
+ * When a brick is hit, a single reusable proxy game object is placed over it, so that the other object and
+ * the brick's collision strategy see an ordinary brick.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class BrickField implements BrickIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_CELLS_PER_BRICK = 4;
+
+    private float[] x;
+    private float[] y;
+    private float[] width;
+    private float[] height;
+    private short[] strategyCodes;
+    private final BitSet alive = new BitSet();
+    private int size = 0;
+
+    private CollisionStrategy[] strategies = new CollisionStrategy[INITIAL_CAPACITY];
+    private final Map<CollisionStrategy, Integer> strategyCodesByStrategy = new IdentityHashMap<>();
+
+    private final Counter bricksCounter;
+    private final GameEventBus eventBus;
+    private final GameObject hitProxy = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+    private int hitBrick = -1;
+
+    private float originX;
+    private float originY;
+    private float cellWidth;
+    private float cellHeight;
+    private int rows;
+    private int columns;
+    private int[] cellStart;
+    private int[] cellBricks;
+
+    /**
+     * Constructs an empty BrickField.
+     * @param expectedBricks The number of bricks the field is expected to hold, used to size its arrays.
+     * @param bricksCounter  Counter representing the number of current bricks in the game, decremented
+     *                       whenever a brick is destroyed.
+     * @param eventBus       The bus on which the destruction of every brick is published.
+     */
+    public BrickField(int expectedBricks, Counter bricksCounter, GameEventBus eventBus) {
+        int capacity = Math.max(expectedBricks, INITIAL_CAPACITY);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.width = new float[capacity];
+        this.height = new float[capacity];
+        this.strategyCodes = new short[capacity];
+        this.bricksCounter = bricksCounter;
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Adds a live brick to the field. The index must be rebuilt with buildIndex() before the new brick can
+     * be hit.
+     * @param topLeftX          The x coordinate of the brick's top-left corner.
+     * @param topLeftY          The y coordinate of the brick's top-left corner.
+     * @param brickWidth        The width of the brick.
+     * @param brickHeight       The height of the brick.
+     * @param collisionStrategy The collision strategy executed when the brick is hit. Can be null.
+     * @return The index of the new brick.
+     * @throws IllegalArgumentException If the brick has no width or no height.
+     */
+    public int addBrick(float topLeftX, float topLeftY, float brickWidth, float brickHeight,
+                        CollisionStrategy collisionStrategy) {
+        if (brickWidth <= 0 || brickHeight <= 0) {
+            throw new IllegalArgumentException("A brick must have a positive width and height");
+        }
+        if (size == x.length) {
+            grow();
+        }
+        x[size] = topLeftX;
+        y[size] = topLeftY;
+        width[size] = brickWidth;
+        height[size] = brickHeight;
+        strategyCodes[size] = codeOf(collisionStrategy);
+        alive.set(size);
+        return size++;
+    }
+
+    /**
+     * Builds the uniform grid through which bricks are found. The cells are as large as the largest
+     * brick, so that each brick overlaps at most four cells.
+     */
+    public void buildIndex() {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxWidth = 1;
+        float maxHeight = 1;
+        for (int brick = 0; brick < size; brick++) {
+            minX = Math.min(minX, x[brick]);
+            minY = Math.min(minY, y[brick]);
+            maxX = Math.max(maxX, x[brick] + width[brick]);
+            maxY = Math.max(maxY, y[brick] + height[brick]);
+            maxWidth = Math.max(maxWidth, width[brick]);
+            maxHeight = Math.max(maxHeight, height[brick]);
+        }
+        if (size == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        originX = minX;
+        originY = minY;
+        cellWidth = maxWidth;
+        cellHeight = maxHeight;
+        // a few huge bricks among many small ones must not blow up the number of empty cells
+        while ((long) cellsAlong(maxX - minX, cellWidth) * cellsAlong(maxY - minY, cellHeight) >
+                (long) MAX_CELLS_PER_BRICK * size + 1) {
+            cellWidth *= 2;
+            cellHeight *= 2;
+        }
+        columns = cellsAlong(maxX - minX, cellWidth);
+        rows = cellsAlong(maxY - minY, cellHeight);
+
+        // counting sort of the bricks by cell: count, prefix sums, then fill
+        cellStart = new int[rows * columns + 1];
+        for (int brick = 0; brick < size; brick++) {
+            forEachCell(brick, cell -> cellStart[cell + 1]++);
+        }
+        for (int cell = 0; cell < rows * columns; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        cellBricks = new int[cellStart[rows * columns]];
+        int[] next = Arrays.copyOf(cellStart, rows * columns);
+        for (int brick = 0; brick < size; brick++) {
+            final int current = brick;
+            forEachCell(brick, cell -> cellBricks[next[cell]++] = current);
+        }
+    }
+
+    /**
+     * Finds the live bricks that overlap the specified object and notifies both sides of each collision,
+     * the same way BrickGrid does. Each hit brick is destroyed: it is marked dead, the bricks counter is
+     * decremented and its collision strategy is executed with the hit proxy standing in for the brick.
+     * @param other The moving object to test against the bricks.
+     */
+    @Override
+    public void handleCollisions(GameObject other) {
+        if (cellStart == null || size == 0) {
+            return;
+        }
+        Vector2 topLeftCorner = other.getTopLeftCorner();
+        Vector2 dimensions = other.getDimensions();
+        float left = topLeftCorner.x();
+        float top = topLeftCorner.y();
+        float right = left + dimensions.x();
+        float bottom = top + dimensions.y();
+
+        int firstColumn = Math.max(0, (int) Math.floor((left - originX) / cellWidth));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((right - originX) / cellWidth));
+        int firstRow = Math.max(0, (int) Math.floor((top - originY) / cellHeight));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((bottom - originY) / cellHeight));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int brick = cellBricks[i];
+                    // a brick that spans several cells is only hit once, since it is dead after its first hit
+                    if (alive.get(brick) && overlaps(brick, left, top, right, bottom)) {
+                        hit(brick, other);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a brick from the field. Bricks of the field are only represented by the hit proxy, so only
+     * the brick currently being hit can be removed this way; it is already dead by the time its collision
+     * strategy removes it.
+     * @param brick The brick to remove.
+     * @return True if the brick was the hit proxy of a live brick.
+     */
+    @Override
+    public boolean remove(GameObject brick) {
+        if (brick != hitProxy || hitBrick < 0 || !alive.get(hitBrick)) {
+            return false;
+        }
+        alive.clear(hitBrick);
+        bricksCounter.decrement();
+        eventBus.publish(GameEventType.BRICK_DESTROYED, hitProxy, bricksCounter.value());
+        return true;
+    }
+
+    /**
+     * Restores a brick for a new game, in place, with a new collision strategy. The bricks counter is not
+     * changed, since a new game sets it for all the bricks at once.
+     * @param brick             The index of the brick.
+     * @param collisionStrategy The collision strategy executed when the brick is hit. Can be null.
+     */
+    public void restore(int brick, CollisionStrategy collisionStrategy) {
+        strategyCodes[brick] = codeOf(collisionStrategy);
+        alive.set(brick);
+    }
+
+    /**
+     * Checks whether a brick was not destroyed yet.
+     * @param brick The index of the brick.
+     * @return True if the brick is alive.
+     */
+    public boolean isAlive(int brick) {
+        return alive.get(brick);
+    }
+
+    /**
+     * Gets the index of the first live brick whose index is at least the specified one, so that the live
+     * bricks can be iterated with {@code for (int b = nextAlive(0); b >= 0; b = nextAlive(b + 1))}.
+     * @param fromBrick The index to start searching from.
+     * @return The index of the next live brick, or -1 if there is none.
+     */
+    public int nextAlive(int fromBrick) {
+        return alive.nextSetBit(fromBrick);
+    }
+
+    /**
+     * Gets the x coordinate of a brick's top-left corner.
+     * @param brick The index of the brick.
+     * @return The x coordinate of the brick's top-left corner.
+     */
+    public float getX(int brick) {
+        return x[brick];
+    }
+
+    /**
+     * Gets the y coordinate of a brick's top-left corner.
+     * @param brick The index of the brick.
+     * @return The y coordinate of the brick's top-left corner.
+     */
+    public float getY(int brick) {
+        return y[brick];
+    }
+
+    /**
+     * Gets the width of a brick.
+     * @param brick The index of the brick.
+     * @return The width of the brick.
+     */
+    public float getWidth(int brick) {
+        return width[brick];
+    }
+
+    /**
+     * Gets the height of a brick.
+     * @param brick The index of the brick.
+     * @return The height of the brick.
+     */
+    public float getHeight(int brick) {
+        return height[brick];
+    }
+
+    /**
+     * Gets the collision strategy of a brick.
+     * @param brick The index of the brick.
+     * @return The collision strategy of the brick, or null if it has none.
+     */
+    public CollisionStrategy getStrategy(int brick) {
+        return strategies[strategyCodes[brick]];
+    }
+
+    /**
+     * Gets the number of bricks in the field, including the destroyed ones.
+     * @return The number of bricks in the field.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of live bricks in the field.
+     * @return The number of live bricks.
+     */
+    public int aliveCount() {
+        return alive.cardinality();
+    }
+
+    /*
+     * Destroys a brick and notifies both sides of the collision, with the hit proxy standing in for it.
+     */
+    private void hit(int brick, GameObject other) {
+        // dimensions first, since resizing a game object keeps its center in place
+        hitProxy.setDimensions(new Vector2(width[brick], height[brick]));
+        hitProxy.setTopLeftCorner(new Vector2(x[brick], y[brick]));
+        if (!other.shouldCollideWith(hitProxy)) {
+            return;
+        }
+        hitBrick = brick;
+        other.onCollisionEnter(hitProxy, BrickCollision.between(other, hitProxy));
+        // like Brick, the brick is destroyed before its strategy runs
+        remove(hitProxy);
+        CollisionStrategy collisionStrategy = strategies[strategyCodes[brick]];
+        if (collisionStrategy != null) {
+            collisionStrategy.onCollision(hitProxy, other);
+        }
+        hitBrick = -1;
+    }
+
+    /*
+     * Checks whether a brick strictly overlaps the given bounds.
+     */
+    private boolean overlaps(int brick, float left, float top, float right, float bottom) {
+        return x[brick] < right && left < x[brick] + width[brick] &&
+                y[brick] < bottom && top < y[brick] + height[brick];
+    }
+
+    /*
+     * Calls the action with every grid cell the brick overlaps.
+     */
+    private void forEachCell(int brick, IntConsumer action) {
+        // overlaps are strict, so a brick whose edge lies on a cell boundary is not in the next cell
+        int firstColumn = (int) ((x[brick] - originX) / cellWidth);
+        int lastColumn = Math.min(columns - 1,
+                (int) Math.ceil((x[brick] + width[brick] - originX) / cellWidth) - 1);
+        int firstRow = (int) ((y[brick] - originY) / cellHeight);
+        int lastRow = Math.min(rows - 1,
+                (int) Math.ceil((y[brick] + height[brick] - originY) / cellHeight) - 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                action.accept(row * columns + column);
+            }
+        }
+    }
+
+    /*
+     * Returns the code of a collision strategy, registering it in the strategy table on first use.
+     * Code 0 stands for no strategy.
+     */
+    private short codeOf(CollisionStrategy collisionStrategy) {
+        if (collisionStrategy == null) {
+            return 0;
+        }
+        Integer code = strategyCodesByStrategy.get(collisionStrategy);
+        if (code == null) {
+            code = strategyCodesByStrategy.size() + 1;
+            if (code > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct collision strategies in a brick field");
+            }
+            if (code == strategies.length) {
+                strategies = Arrays.copyOf(strategies, strategies.length * 2);
+            }
+            strategies[code] = collisionStrategy;
+            strategyCodesByStrategy.put(collisionStrategy, code);
+        }
+        return code.shortValue();
+    }
+
+    /*
+     * Doubles the capacity of the brick arrays.
+     */
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        strategyCodes = Arrays.copyOf(strategyCodes, capacity);
+    }
+
+    /*
+     * Returns the number of cells of the given size needed to cover the given length.
+     */
+    private static int cellsAlong(float length, float cellSize) {
+        return Math.max(1, (int) (length / cellSize) + 1);
+    }
+}
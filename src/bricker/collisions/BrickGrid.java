@@ -0,0 +1,127 @@
+package bricker.collisions;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * BrickGrid is a uniform-grid spatial index of the bricks of the board. Bricks are laid out in regular
+ * rows and columns, so each grid cell holds exactly one brick and is addressed directly by its row and
+ * column. A moving object only tests the few cells its bounding box overlaps, instead of every brick,
+ * and removing a brick is a single array write.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class BrickGrid implements BrickIndex {
+    private final int rows;
+    private final int columns;
+    private final float originX;
+    private final float originY;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final GameObject[] cells;
+    private int size = 0;
+
+    /**
+     * Constructs an empty BrickGrid for the specified layout.
+     * @param rows             The number of rows of bricks.
+     * @param columns          The number of bricks per row.
+     * @param origin           The top-left corner of the brick at row 0, column 0.
+     * @param brickDimensions  The width and height of a single brick.
+     * @param bricksSpace      The space between two adjacent bricks.
+     */
+    public BrickGrid(int rows, int columns, Vector2 origin, Vector2 brickDimensions, float bricksSpace) {
+        this.rows = rows;
+        this.columns = columns;
+        this.originX = origin.x();
+        this.originY = origin.y();
+        this.cellWidth = brickDimensions.x() + bricksSpace;
+        this.cellHeight = brickDimensions.y() + bricksSpace;
+        this.cells = new GameObject[rows * columns];
+    }
+
+    /**
+     * Places a brick in the specified cell.
+     * @param row    The row of the brick.
+     * @param column The column of the brick.
+     * @param brick  The brick.
+     */
+    public void add(int row, int column, GameObject brick) {
+        int index = row * columns + column;
+        if (cells[index] == null) {
+            size++;
+        }
+        cells[index] = brick;
+    }
+
+    /**
+     * Removes a brick from the grid. The cell is derived from the brick's position, so this takes
+     * constant time. Removing a brick that is not in the grid does nothing.
+     * @param brick The brick to remove.
+     * @return True if the brick was in the grid.
+     */
+    @Override
+    public boolean remove(GameObject brick) {
+        Vector2 topLeftCorner = brick.getTopLeftCorner();
+        int row = Math.round((topLeftCorner.y() - originY) / cellHeight);
+        int column = Math.round((topLeftCorner.x() - originX) / cellWidth);
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return false;
+        }
+        int index = row * columns + column;
+        if (cells[index] != brick) {
+            return false;
+        }
+        cells[index] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the number of bricks in the grid.
+     * @return The number of bricks in the grid.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the bricks that overlap the specified object and notifies both sides of each collision,
+     * the same way the engine's collision resolver would: only if both objects agree to collide, and
+     * with onCollisionEnter, since bricks are removed on their first collision.
+     * @param other The moving object to test against the bricks.
+     */
+    @Override
+    public void handleCollisions(GameObject other) {
+        Vector2 topLeftCorner = other.getTopLeftCorner();
+        Vector2 dimensions = other.getDimensions();
+        float left = topLeftCorner.x();
+        float top = topLeftCorner.y();
+        float right = left + dimensions.x();
+        float bottom = top + dimensions.y();
+
+        int firstColumn = Math.max(0, (int) Math.floor((left - originX) / cellWidth));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((right - originX) / cellWidth));
+        int firstRow = Math.max(0, (int) Math.floor((top - originY) / cellHeight));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((bottom - originY) / cellHeight));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                GameObject brick = cells[row * columns + column];
+                if (brick != null && overlaps(brick, left, top, right, bottom) &&
+                        other.shouldCollideWith(brick) && brick.shouldCollideWith(other)) {
+                    other.onCollisionEnter(brick, BrickCollision.between(other, brick));
+                    brick.onCollisionEnter(other, BrickCollision.between(brick, other));
+                }
+            }
+        }
+    }
+
+    /*
+     * Checks whether a brick strictly overlaps the given bounds.
+     */
+    private static boolean overlaps(GameObject brick, float left, float top, float right, float bottom) {
+        Vector2 brickTopLeft = brick.getTopLeftCorner();
+        Vector2 brickDimensions = brick.getDimensions();
+        return brickTopLeft.x() < right && left < brickTopLeft.x() + brickDimensions.x() &&
+                brickTopLeft.y() < bottom && top < brickTopLeft.y() + brickDimensions.y();
+    }
+}
@@ -0,0 +1,23 @@
+package bricker.collisions;
+
+import danogl.GameObject;
+
+/**
+ * BrickIndex is a spatial index of the bricks of the board, which replaces the engine's pairwise
+ * collision checks between moving objects and bricks.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public interface BrickIndex {
+    /**
+     * Finds the bricks that overlap the specified object and notifies both sides of each collision.
+     * @param other The moving object to test against the bricks.
+     */
+    void handleCollisions(GameObject other);
+
+    /**
+     * Removes a destroyed brick from the index.
+     * @param brick The brick to remove.
+     * @return True if the brick was in the index.
+     */
+    boolean remove(GameObject brick);
+}
@@ -0,0 +1,59 @@
+package bricker.collisions;
+
+import danogl.util.Vector2;
+
+/**
+ * SweptAabb finds how a moving axis-aligned box entered another box during its last step, by sweeping the
+ * box back along its displacement instead of looking only at where the two boxes overlap at the end.
+ * A fast ball can end a step deep inside a brick or a paddle, where the axis of least penetration is often
+ * not the face it came through; the swept entry face is, however deep the overlap is.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public final class SweptAabb {
+    /* Prevents instantiation of this class. */
+    private SweptAabb() {
+    }
+
+    /**
+     * Finds the face of the target through which the mover entered it during its last step.
+     * @param moverTopLeft     The top-left corner of the mover at the end of the step.
+     * @param moverDimensions  The dimensions of the mover.
+     * @param displacement     The displacement of the mover during the step, relative to the target.
+     * @param targetTopLeft    The top-left corner of the target.
+     * @param targetDimensions The dimensions of the target.
+     * @return The normal of the entry face, pointing from the target towards the mover, or null if the two
+     *         boxes already overlapped at the start of the step.
+     */
+    public static Vector2 entryNormal(Vector2 moverTopLeft, Vector2 moverDimensions, Vector2 displacement,
+                                      Vector2 targetTopLeft, Vector2 targetDimensions) {
+        float entryX = entryTime(moverTopLeft.x() - displacement.x(), moverDimensions.x(), displacement.x(),
+                targetTopLeft.x(), targetDimensions.x());
+        float entryY = entryTime(moverTopLeft.y() - displacement.y(), moverDimensions.y(), displacement.y(),
+                targetTopLeft.y(), targetDimensions.y());
+        float entry = Math.max(entryX, entryY);
+        if (entry < 0 || entry == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+        if (entryX > entryY) {
+            return displacement.x() > 0 ? Vector2.LEFT : Vector2.RIGHT;
+        }
+        return displacement.y() > 0 ? Vector2.UP : Vector2.DOWN;
+    }
+
+    /*
+     * Computes the fraction of the step at which the mover started to overlap the target along one axis.
+     * Negative infinity if it overlapped along this axis throughout the step, positive infinity if it
+     * never did.
+     */
+    private static float entryTime(float moverStart, float moverSize, float displacement, float targetStart,
+                                   float targetSize) {
+        if (displacement > 0) {
+            return (targetStart - (moverStart + moverSize)) / displacement;
+        }
+        if (displacement < 0) {
+            return (targetStart + targetSize - moverStart) / displacement;
+        }
+        boolean overlapping = moverStart < targetStart + targetSize && targetStart < moverStart + moverSize;
+        return overlapping ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+    }
+}
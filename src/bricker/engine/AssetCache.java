@@ -0,0 +1,150 @@
+package bricker.engine;
+
+import bricker.main.Constants;
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.Renderable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AssetCache holds the decoded images and sounds of the game. Every asset path in Constants is
+ * preloaded once, when the game is initialized, and the same Renderable and Sound instances are
+ * then handed out to every object that needs them, so no asset is decoded during a collision frame.
+ * Hit and miss counters tell whether any asset was still decoded lazily.
+ * A frozen cache is immutable: it hands out its preloaded assets only, counts nothing, and can therefore be
+ * shared by games running on different threads, such as the sessions of a GameServer.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class AssetCache {
+    private static final String[] MASKED_IMAGES = {
+            Constants.BALL_IMAGE, Constants.PUCK_IMAGE, Constants.PADDLE_IMAGE, Constants.HEART_IMAGE
+    };
+    private static final String[] OPAQUE_IMAGES = {
+            Constants.BRICK_IMAGE, Constants.GAME_BACKGROUND
+    };
+    private static final String[] SOUNDS = {
+            Constants.BALL_SOUND
+    };
+
+    private final ImageReader imageReader;
+    private final SoundReader soundReader;
+    private final Map<String, Renderable> maskedImages = new HashMap<>();
+    private final Map<String, Renderable> opaqueImages = new HashMap<>();
+    private final Map<String, Sound> sounds = new HashMap<>();
+    private long hits = 0;
+    private long misses = 0;
+    private volatile boolean frozen = false;
+
+    /**
+     * Constructs an empty AssetCache that decodes assets with the specified readers.
+     * @param imageReader The ImageReader used to decode images.
+     * @param soundReader The SoundReader used to load sounds.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader) {
+        this.imageReader = imageReader;
+        this.soundReader = soundReader;
+    }
+
+    /**
+     * Decodes every image and sound of the game. Preloading does not count as hits or misses.
+     */
+    public void preload() {
+        for (String path : MASKED_IMAGES) {
+            maskedImages.put(path, imageReader.readImage(path, true));
+        }
+        for (String path : OPAQUE_IMAGES) {
+            opaqueImages.put(path, imageReader.readImage(path, false));
+        }
+        for (String path : SOUNDS) {
+            sounds.put(path, soundReader.readSound(path));
+        }
+    }
+
+    /**
+     * Makes the cache immutable, so that it can be shared between threads. The cache should be preloaded
+     * first, since a frozen cache decodes nothing.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Checks whether the cache is immutable.
+     * @return True if the cache was frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Gets the shared renderable of an image, decoding it if it was not loaded yet.
+     * @param imageFilePath  The path of the image.
+     * @param useImageAsMask Whether the image should be used as a mask (see ImageReader.readImage).
+     * @return The shared renderable of the image.
+     * @throws IllegalStateException If the cache is frozen and the image was not preloaded.
+     */
+    public Renderable getImage(String imageFilePath, boolean useImageAsMask) {
+        Map<String, Renderable> images = useImageAsMask ? maskedImages : opaqueImages;
+        if (frozen) {
+            return preloaded(images, imageFilePath);
+        }
+        if (images.containsKey(imageFilePath)) {
+            hits++;
+            return images.get(imageFilePath);
+        }
+        misses++;
+        Renderable image = imageReader.readImage(imageFilePath, useImageAsMask);
+        images.put(imageFilePath, image);
+        return image;
+    }
+
+    /**
+     * Gets the shared instance of a sound, loading it if it was not loaded yet.
+     * @param soundFilePath The path of the sound.
+     * @return The shared sound.
+     * @throws IllegalStateException If the cache is frozen and the sound was not preloaded.
+     */
+    public Sound getSound(String soundFilePath) {
+        if (frozen) {
+            return preloaded(sounds, soundFilePath);
+        }
+        if (sounds.containsKey(soundFilePath)) {
+            hits++;
+            return sounds.get(soundFilePath);
+        }
+        misses++;
+        Sound sound = soundReader.readSound(soundFilePath);
+        sounds.put(soundFilePath, sound);
+        return sound;
+    }
+
+    /**
+     * Gets the number of requests that were served from the cache.
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of requests that had to decode an asset.
+     * @return The number of cache misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /*
+     * Gets a preloaded asset of a frozen cache, without counting the request.
+     */
+    private static <T> T preloaded(Map<String, T> assets, String path) {
+        // a headless reader preloads null assets, which are preloaded all the same
+        if (!assets.containsKey(path)) {
+            throw new IllegalStateException("Asset was not preloaded into the frozen cache: " + path);
+        }
+        return assets.get(path);
+    }
+}
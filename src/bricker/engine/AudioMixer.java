@@ -0,0 +1,187 @@
+package bricker.engine;
+
+import danogl.gui.Sound;
+
+/**
+ * AudioMixer sits between the game objects and the audio clips, so that a burst of collisions cannot open
+ * more clips than the audio thread can take. Objects play Sounds handed out by mix(), whose play() only
+ * requests the sound, and the requests of a frame are resolved once, at the end of the frame: a sound
+ * requested more than once in a frame is played once (the extra requests are merged), a sound is only played
+ * on a free voice out of a fixed pool of voices, and plays are limited to maxPlaysPerSecond by a token
+ * bucket holding up to a token per voice, so a quiet game can still play a short burst. Requests that find
+ * no free voice or no token are dropped. The mixer counts the requested, played, merged and dropped plays.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class AudioMixer {
+    private final float[] voiceBusySeconds;
+    private final float voiceSeconds;
+    private final float maxPlaysPerSecond;
+    private final Sound[] pending;
+    private int pendingCount = 0;
+    private float tokens;
+    private long requested = 0;
+    private long played = 0;
+    private long merged = 0;
+    private long dropped = 0;
+
+    /**
+     * Constructs an AudioMixer with all its voices free.
+     * @param voices            The number of sounds that may play at once.
+     * @param voiceSeconds      The time, in seconds, a voice stays busy after it starts a sound.
+     * @param maxPlaysPerSecond The maximum sustained number of plays per second.
+     */
+    public AudioMixer(int voices, float voiceSeconds, float maxPlaysPerSecond) {
+        this.voiceBusySeconds = new float[voices];
+        this.voiceSeconds = voiceSeconds;
+        this.maxPlaysPerSecond = maxPlaysPerSecond;
+        // a sound requested in a frame with every voice requested already could not be played anyway
+        this.pending = new Sound[voices];
+        this.tokens = voices;
+    }
+
+    /**
+     * Wraps a sound so that playing it goes through this mixer.
+     * @param sound The sound.
+     * @return A sound whose play() requests the specified sound from this mixer.
+     */
+    public Sound mix(Sound sound) {
+        return new MixedSound(sound);
+    }
+
+    /**
+     * Requests a sound to be played at the end of this frame.
+     * @param sound The sound.
+     */
+    public void request(Sound sound) {
+        requested++;
+        for (int i = 0; i < pendingCount; i++) {
+            if (pending[i] == sound) {
+                merged++;
+                return;
+            }
+        }
+        if (pendingCount == pending.length) {
+            dropped++;
+            return;
+        }
+        pending[pendingCount++] = sound;
+    }
+
+    /**
+     * Frees the voices whose sounds ended, refills the token bucket, and plays the sounds requested in this
+     * frame. Should be called once per frame.
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    public void endFrame(float deltaTime) {
+        tokens = Math.min(voiceBusySeconds.length, tokens + deltaTime * maxPlaysPerSecond);
+        for (int voice = 0; voice < voiceBusySeconds.length; voice++) {
+            voiceBusySeconds[voice] = Math.max(0, voiceBusySeconds[voice] - deltaTime);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            int voice = freeVoice();
+            if (voice < 0 || tokens < 1) {
+                dropped++;
+            }
+            else {
+                tokens--;
+                voiceBusySeconds[voice] = voiceSeconds;
+                played++;
+                pending[i].play();
+            }
+            pending[i] = null;
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Gets the number of plays requested so far.
+     * @return The number of requests.
+     */
+    public long getRequested() {
+        return requested;
+    }
+
+    /**
+     * Gets the number of sounds played so far.
+     * @return The number of plays.
+     */
+    public long getPlayed() {
+        return played;
+    }
+
+    /**
+     * Gets the number of requests merged into a request of the same sound in the same frame.
+     * @return The number of merged requests.
+     */
+    public long getMerged() {
+        return merged;
+    }
+
+    /**
+     * Gets the number of requests dropped for lack of a free voice or of a token.
+     * @return The number of dropped requests.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Describes the counts of the mixer in a single line.
+     * @return The description of the mixer.
+     */
+    public String describe() {
+        return String.format("%-18s requested=%d played=%d merged=%d dropped=%d", "AUDIO", requested, played,
+                merged, dropped);
+    }
+
+    /*
+     * Returns the index of a voice that is not playing, or -1 if all the voices are busy.
+     */
+    private int freeVoice() {
+        for (int voice = 0; voice < voiceBusySeconds.length; voice++) {
+            if (voiceBusySeconds[voice] == 0) {
+                return voice;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * A Sound whose play() is a request to the mixer. Looped plays and stops go straight to the sound.
+     */
+    private class MixedSound extends Sound {
+        private final Sound sound;
+
+        /*
+         * Constructs a MixedSound of the given sound.
+         */
+        private MixedSound(Sound sound) {
+            super(null);
+            this.sound = sound;
+        }
+
+        /*
+         * Requests the sound from the mixer.
+         */
+        @Override
+        public void play() {
+            request(sound);
+        }
+
+        /*
+         * Plays the sound in a loop, outside the mixer.
+         */
+        @Override
+        public void playLooped() {
+            sound.playLooped();
+        }
+
+        /*
+         * Stops every occurrence of the sound.
+         */
+        @Override
+        public void stopAllOccurences() {
+            sound.stopAllOccurences();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package bricker.engine;
+
+/**
+ * EntityKind is an enumeration of the kinds of live game objects tracked by the EntityRegistry.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public enum EntityKind {
+    /** The main ball. */
+    MAIN_BALL,
+    /** An extra puck spawned by a brick. */
+    PUCK,
+    /** The paddle controlled by the player. */
+    MAIN_PADDLE,
+    /** The temporary extra paddle spawned by a brick. */
+    EXTRA_PADDLE,
+    /** A heart dropping from a destroyed brick. */
+    DROPPING_HEART,
+    /** A legacy falling heart. */
+    HEART
+}
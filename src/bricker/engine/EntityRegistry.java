@@ -0,0 +1,149 @@
+package bricker.engine;
+
+import danogl.GameObject;
+import danogl.collisions.Layer;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * EntityRegistry keeps track of the live game objects of each EntityKind. Objects of a tracked kind are
+ * added to and removed from the game through the registry, which updates its per-kind sets at once and
+ * queues the change to the objects collection in a GameObjectCommandBuffer. Questions such as "is there an
+ * extra paddle" or "which object is the main paddle" are answered in constant time instead of scanning the
+ * collection, and are answered correctly even before the buffer is flushed.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class EntityRegistry {
+    private final GameObjectCommandBuffer commandBuffer;
+    private final Map<EntityKind, Set<GameObject>> entitiesByKind = new EnumMap<>(EntityKind.class);
+    private final Map<GameObject, EntityKind> kinds = new HashMap<>();
+    private final Map<GameObject, Integer> layers = new HashMap<>();
+
+    /**
+     * Constructs an empty EntityRegistry over the specified command buffer.
+     * @param commandBuffer The buffer through which the entities are added to and removed from the game.
+     */
+    public EntityRegistry(GameObjectCommandBuffer commandBuffer) {
+        this.commandBuffer = commandBuffer;
+        for (EntityKind kind : EntityKind.values()) {
+            entitiesByKind.put(kind, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Adds an entity to the default layer of the game.
+     * @param gameObject The entity to add.
+     * @param kind       The kind of the entity.
+     */
+    public void addGameObject(GameObject gameObject, EntityKind kind) {
+        addGameObject(gameObject, kind, Layer.DEFAULT);
+    }
+
+    /**
+     * Adds an entity to the specified layer of the game.
+     * @param gameObject The entity to add.
+     * @param kind       The kind of the entity.
+     * @param layerId    The layer to add the entity to.
+     */
+    public void addGameObject(GameObject gameObject, EntityKind kind, int layerId) {
+        commandBuffer.addGameObject(gameObject, layerId);
+        entitiesByKind.get(kind).add(gameObject);
+        kinds.put(gameObject, kind);
+        layers.put(gameObject, layerId);
+    }
+
+    /**
+     * Removes an entity from the game, from the layer it was added to.
+     * @param gameObject The entity to remove.
+     * @return True if the entity was in the game.
+     */
+    public boolean removeGameObject(GameObject gameObject) {
+        EntityKind kind = kinds.remove(gameObject);
+        if (kind == null) {
+            return false;
+        }
+        entitiesByKind.get(kind).remove(gameObject);
+        commandBuffer.removeGameObject(gameObject, layers.remove(gameObject));
+        return true;
+    }
+
+    /**
+     * Removes every live entity of the specified kind from the game.
+     * @param kind The kind of entity.
+     * @return The number of entities removed.
+     */
+    public int removeAll(EntityKind kind) {
+        int removed = 0;
+        Iterator<GameObject> entities = entitiesByKind.get(kind).iterator();
+        while (entities.hasNext()) {
+            GameObject gameObject = entities.next();
+            entities.remove();
+            kinds.remove(gameObject);
+            commandBuffer.removeGameObject(gameObject, layers.remove(gameObject));
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Checks whether there is at least one live entity of the specified kind.
+     * @param kind The kind of entity.
+     * @return True if there is a live entity of this kind.
+     */
+    public boolean contains(EntityKind kind) {
+        return !entitiesByKind.get(kind).isEmpty();
+    }
+
+    /**
+     * Gets the oldest live entity of the specified kind.
+     * @param kind The kind of entity.
+     * @return The oldest live entity of this kind, or null if there is none.
+     */
+    public GameObject first(EntityKind kind) {
+        Set<GameObject> entities = entitiesByKind.get(kind);
+        return entities.isEmpty() ? null : entities.iterator().next();
+    }
+
+    /**
+     * Gets the live entities of the specified kind.
+     * @param kind The kind of entity.
+     * @return A view of the live entities of this kind. Must not be iterated while entities
+     *         of this kind are added or removed.
+     */
+    public Iterable<GameObject> entitiesOf(EntityKind kind) {
+        return entitiesByKind.get(kind);
+    }
+
+    /**
+     * Gets the number of live entities of the specified kind.
+     * @param kind The kind of entity.
+     * @return The number of live entities of this kind.
+     */
+    public int count(EntityKind kind) {
+        return entitiesByKind.get(kind).size();
+    }
+
+    /**
+     * Checks whether a game object is a live entity of the specified kind.
+     * @param gameObject The game object.
+     * @param kind       The kind of entity.
+     * @return True if the object is a live entity of this kind.
+     */
+    public boolean isKind(GameObject gameObject, EntityKind kind) {
+        return kinds.get(gameObject) == kind;
+    }
+
+    /**
+     * Gets the kind of a live entity.
+     * @param gameObject The game object.
+     * @return The kind of the entity, or null if the object is not a live entity.
+     */
+    public EntityKind kindOf(GameObject gameObject) {
+        return kinds.get(gameObject);
+    }
+}
@@ -0,0 +1,139 @@
+package bricker.engine;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * GameObjectCommandBuffer collects the objects added to and removed from the game while collisions are
+ * dispatched, and applies them to the objects collection in one batch when the game manager flushes it, at
+ * the end of each physics step. Every add or remove on the collection searches its layer, so an object that
+ * is added and removed within the same step, such as a heart caught as soon as it drops, cancels out in the
+ * buffer and never reaches the collection, and an object removed twice is removed once. Commands are applied
+ * in the order they were given, so the collection's order, and with it the order of collisions, does not
+ * depend on the buffer.
+ * Objects that are only queued are not yet part of the collection; lookups such as "is there an extra
+ * paddle" should go through the EntityRegistry, whose bookkeeping is immediate.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameObjectCommandBuffer {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final GameObjectCollection gameObjects;
+    private final Map<GameObject, Integer> pendingCommands = new IdentityHashMap<>();
+    private GameObject[] commandObjects = new GameObject[INITIAL_CAPACITY];
+    private int[] commandLayers = new int[INITIAL_CAPACITY];
+    private boolean[] commandAdds = new boolean[INITIAL_CAPACITY];
+    private int commandCount = 0;
+    private long appliedCount = 0;
+    private long cancelledCount = 0;
+
+    /**
+     * Constructs an empty GameObjectCommandBuffer over the specified objects collection.
+     * @param gameObjects The collection the commands are applied to.
+     */
+    public GameObjectCommandBuffer(GameObjectCollection gameObjects) {
+        this.gameObjects = gameObjects;
+    }
+
+    /**
+     * Queues an object to be added to the game. Cancels a queued removal of the same object instead, since
+     * the object is then still in the collection.
+     * @param gameObject The object to add.
+     * @param layerId    The layer to add the object to.
+     */
+    public void addGameObject(GameObject gameObject, int layerId) {
+        queue(gameObject, layerId, true);
+    }
+
+    /**
+     * Queues an object to be removed from the game. Cancels a queued addition of the same object instead,
+     * since the object then never reached the collection.
+     * @param gameObject The object to remove.
+     * @param layerId    The layer the object was added to.
+     */
+    public void removeGameObject(GameObject gameObject, int layerId) {
+        queue(gameObject, layerId, false);
+    }
+
+    /**
+     * Applies the queued commands to the objects collection, in the order they were queued, and empties the
+     * buffer.
+     * @return The number of commands applied.
+     */
+    public int flush() {
+        int applied = 0;
+        for (int i = 0; i < commandCount; i++) {
+            GameObject gameObject = commandObjects[i];
+            if (gameObject != null) {
+                if (commandAdds[i]) {
+                    gameObjects.addGameObject(gameObject, commandLayers[i]);
+                }
+                else {
+                    gameObjects.removeGameObject(gameObject, commandLayers[i]);
+                }
+                commandObjects[i] = null;
+                applied++;
+            }
+        }
+        commandCount = 0;
+        pendingCommands.clear();
+        appliedCount += applied;
+        return applied;
+    }
+
+    /**
+     * Gets the number of commands applied to the collection so far.
+     * @return The number of applied commands.
+     */
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * Gets the number of commands that never reached the collection, because they were cancelled by an
+     * opposite command or repeated a queued command.
+     * @return The number of cancelled commands.
+     */
+    public long getCancelledCount() {
+        return cancelledCount;
+    }
+
+    /*
+     * Queues a command, unless the object already has a queued command: the same command is not repeated,
+     * and the opposite command is cancelled along with this one.
+     */
+    private void queue(GameObject gameObject, int layerId, boolean add) {
+        Integer pending = pendingCommands.get(gameObject);
+        if (pending != null) {
+            if (commandAdds[pending] != add) {
+                commandObjects[pending] = null;
+                pendingCommands.remove(gameObject);
+                cancelledCount++;
+            }
+            cancelledCount++;
+            return;
+        }
+        if (commandCount == commandObjects.length) {
+            grow();
+        }
+        commandObjects[commandCount] = gameObject;
+        commandLayers[commandCount] = layerId;
+        commandAdds[commandCount] = add;
+        pendingCommands.put(gameObject, commandCount);
+        commandCount++;
+    }
+
+    /*
+     * Doubles the capacity of the command arrays.
+     */
+    private void grow() {
+        int capacity = commandObjects.length * 2;
+        commandObjects = Arrays.copyOf(commandObjects, capacity);
+        commandLayers = Arrays.copyOf(commandLayers, capacity);
+        commandAdds = Arrays.copyOf(commandAdds, capacity);
+    }
+}
@@ -0,0 +1,140 @@
+package bricker.engine;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LifecycleManager culls the transient entities of the game: the objects spawned during play, such as
+ * dropping hearts and extra pucks, which nothing else removes once they are out of reach. Every frame, an
+ * entity of a transient kind is removed from the game when it is entirely outside the window, or when it
+ * outlived the time-to-live of its kind. Extra pucks are reclaimed by their PuckPool, which keeps them for
+ * reuse. The manager counts the entities it culled of each kind, and reports them along with the live
+ * counts, so that a long session can be checked to keep a flat number of objects.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class LifecycleManager {
+    private final EntityRegistry entityRegistry;
+    private final PuckPool puckPool;
+    private final Vector2 windowDimensions;
+    private final Map<EntityKind, Float> timesToLive = new EnumMap<>(EntityKind.class);
+    private final Map<GameObject, Float> spawnTimes = new HashMap<>();
+    private final long[] culledCounts = new long[EntityKind.values().length];
+    private final List<GameObject> doomed = new ArrayList<>();
+    private float clock = 0;
+
+    /**
+     * Constructs a LifecycleManager that tracks no kind yet.
+     * @param entityRegistry   The registry of live entities, through which transient entities are removed.
+     * @param puckPool         The pool the extra pucks are reclaimed into.
+     * @param windowDimensions The dimensions of the game window, which bound the play area.
+     */
+    public LifecycleManager(EntityRegistry entityRegistry, PuckPool puckPool, Vector2 windowDimensions) {
+        this.entityRegistry = entityRegistry;
+        this.puckPool = puckPool;
+        this.windowDimensions = windowDimensions;
+    }
+
+    /**
+     * Tracks the entities of a kind as transient: they are culled once they leave the window or are older
+     * than the specified time.
+     * @param kind       The kind of entity.
+     * @param timeToLive The time, in seconds, an entity of this kind stays in the game at most, or
+     *                   Float.POSITIVE_INFINITY if it may stay as long as it is in the window.
+     */
+    public void track(EntityKind kind, float timeToLive) {
+        if (kind == EntityKind.PUCK && timeToLive != Float.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Pucks are reclaimed by their pool, and have no time-to-live");
+        }
+        timesToLive.put(kind, timeToLive);
+    }
+
+    /**
+     * Removes from the game every transient entity that is entirely outside the window or outlived its
+     * time-to-live. Should be called once per frame.
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    public void cull(float deltaTime) {
+        clock += deltaTime;
+        for (Map.Entry<EntityKind, Float> entry : timesToLive.entrySet()) {
+            EntityKind kind = entry.getKey();
+            if (kind == EntityKind.PUCK) {
+                culledCounts[kind.ordinal()] += puckPool.reclaimEscaped();
+            }
+            else {
+                cullKind(kind, entry.getValue());
+            }
+        }
+        forgetRemoved();
+    }
+
+    /**
+     * Forgets the ages of all the tracked entities, such as when a new game starts and they are removed.
+     */
+    public void clear() {
+        spawnTimes.clear();
+    }
+
+    /**
+     * Gets the number of entities of a kind culled so far.
+     * @param kind The kind of entity.
+     * @return The number of culled entities of this kind.
+     */
+    public long getCulledCount(EntityKind kind) {
+        return culledCounts[kind.ordinal()];
+    }
+
+    /**
+     * Describes the live and culled entities of each kind, as a line of the frame-time report.
+     * @return One line naming the live and culled counts of every kind.
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder(String.format("%-18s", "ENTITIES"));
+        for (EntityKind kind : EntityKind.values()) {
+            description.append(String.format(" %s=%d/%d", kind.name().toLowerCase(),
+                    entityRegistry.count(kind), culledCounts[kind.ordinal()]));
+        }
+        return description.append(" (live/culled)").toString();
+    }
+
+    /*
+     * Removes the entities of a kind that left the window or outlived the time-to-live. Entities seen for
+     * the first time are aged from now.
+     */
+    private void cullKind(EntityKind kind, float timeToLive) {
+        for (GameObject gameObject : entityRegistry.entitiesOf(kind)) {
+            Float spawnTime = spawnTimes.get(gameObject);
+            if (spawnTime == null) {
+                spawnTimes.put(gameObject, clock);
+                spawnTime = clock;
+            }
+            if (Positions.isOutside(gameObject, windowDimensions) || clock - spawnTime > timeToLive) {
+                doomed.add(gameObject);
+            }
+        }
+        // the registry's set of the kind must not change while it is iterated
+        for (GameObject gameObject : doomed) {
+            entityRegistry.removeGameObject(gameObject);
+        }
+        culledCounts[kind.ordinal()] += doomed.size();
+        doomed.clear();
+    }
+
+    /*
+     * Forgets the ages of the entities that are no longer in the game, however they were removed.
+     */
+    private void forgetRemoved() {
+        Iterator<GameObject> trackedObjects = spawnTimes.keySet().iterator();
+        while (trackedObjects.hasNext()) {
+            if (entityRegistry.kindOf(trackedObjects.next()) == null) {
+                trackedObjects.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package bricker.engine;
+
+import danogl.util.Counter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LivesCounter is a Counter of the player's lives that notifies its listeners whenever the count changes,
+ * so that the widgets showing the lives are updated only in the frames where a life was lost or gained,
+ * instead of polling the counter every frame. It is still a Counter, so code that only changes or reads
+ * the lives does not need to know it is observed.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class LivesCounter extends Counter {
+    private final List<LivesListener> listeners = new ArrayList<>();
+
+    /**
+     * Constructs a LivesCounter with the specified initial number of lives.
+     * @param initialLives The initial number of lives.
+     */
+    public LivesCounter(int initialLives) {
+        super(initialLives);
+    }
+
+    /**
+     * Adds a listener, notified of every later change of the number of lives.
+     * @param listener The listener to add.
+     */
+    public void addListener(LivesListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener The listener to remove.
+     * @return True if the listener was registered.
+     */
+    public boolean removeListener(LivesListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Adds a life, and notifies the listeners.
+     */
+    @Override
+    public void increment() {
+        int previousLives = value();
+        super.increment();
+        notifyListeners(previousLives);
+    }
+
+    /**
+     * Removes a life, and notifies the listeners.
+     */
+    @Override
+    public void decrement() {
+        int previousLives = value();
+        super.decrement();
+        notifyListeners(previousLives);
+    }
+
+    /**
+     * Adds the specified number of lives, and notifies the listeners if the number changed.
+     * @param lives The number of lives to add. May be negative.
+     */
+    @Override
+    public void increaseBy(int lives) {
+        int previousLives = value();
+        super.increaseBy(lives);
+        notifyListeners(previousLives);
+    }
+
+    /**
+     * Resets the number of lives to zero, and notifies the listeners if the number changed.
+     */
+    @Override
+    public void reset() {
+        int previousLives = value();
+        super.reset();
+        notifyListeners(previousLives);
+    }
+
+    /**
+     * Sets the number of lives, such as when a new game starts, and notifies the listeners once if the
+     * number changed.
+     * @param lives The new number of lives.
+     */
+    public void set(int lives) {
+        int previousLives = value();
+        super.increaseBy(lives - previousLives);
+        notifyListeners(previousLives);
+    }
+
+    /*
+     * Notifies the listeners, unless the number of lives is unchanged.
+     */
+    private void notifyListeners(int previousLives) {
+        int lives = value();
+        if (lives == previousLives) {
+            return;
+        }
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onLivesChanged(previousLives, lives);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package bricker.engine;
+
+/**
+ * LivesListener is notified by a LivesCounter whenever the number of lives changes.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public interface LivesListener {
+    /**
+     * Called after the number of lives changed.
+     * @param previousLives The number of lives before the change.
+     * @param lives         The number of lives after the change.
+     */
+    void onLivesChanged(int previousLives, int lives);
+}
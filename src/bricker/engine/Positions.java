@@ -0,0 +1,55 @@
+package bricker.engine;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * Positions holds helpers for placing game objects, and for finding where they are.
+ * GameObject.setCenter computes the new corner in a scratch vector that the engine shares between all game
+ * objects, so it is not safe to call from several games running on different threads at once (see
+ * TournamentRunner). The helpers here place objects through their top-left corner instead.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public final class Positions {
+    /* Prevents instantiation of this class. */
+    private Positions() {
+    }
+
+    /**
+     * Moves a game object so that its center is at the specified point.
+     * @param gameObject The game object to move.
+     * @param center     The new center of the game object.
+     */
+    public static void centerAt(GameObject gameObject, Vector2 center) {
+        Vector2 dimensions = gameObject.getDimensions();
+        gameObject.setTopLeftCorner(new Vector2(center.x() - dimensions.x() / 2,
+                center.y() - dimensions.y() / 2));
+    }
+
+    /**
+     * Brings a game object to rest. The engine moves an object by the velocity it had before its previous
+     * update, so setting a zero velocity alone would still move it one more step; this also clears that
+     * velocity, leaving a reused object as still as a newly created one.
+     * @param gameObject The game object to stop.
+     */
+    public static void stop(GameObject gameObject) {
+        gameObject.setVelocity(Vector2.ZERO);
+        // moves the object by zero, and makes its zero velocity the one applied on its next update
+        gameObject.transform().update(0);
+    }
+
+    /**
+     * Checks whether a game object is entirely outside the window.
+     * @param gameObject       The game object.
+     * @param windowDimensions The dimensions of the game window.
+     * @return True if no part of the object is in the window.
+     */
+    public static boolean isOutside(GameObject gameObject, Vector2 windowDimensions) {
+        Vector2 topLeftCorner = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        return topLeftCorner.y() > windowDimensions.y() ||
+                topLeftCorner.y() + dimensions.y() < 0 ||
+                topLeftCorner.x() > windowDimensions.x() ||
+                topLeftCorner.x() + dimensions.x() < 0;
+    }
+}
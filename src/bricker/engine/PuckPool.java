@@ -0,0 +1,153 @@
+package bricker.engine;
+
+import bricker.gameobjects.Ball;
+import bricker.main.Constants;
+import danogl.gui.Sound;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * PuckPool is a bounded pool of the extra pucks spawned by bricks. Pucks that leave the play area are
+ * removed from the game and kept for reuse, so long multi-puck sessions neither grow the objects
+ * collection nor the heap. When all the pucks of the pool are in play, no new puck is spawned.
+ * Each puck is an ordinary Ball, which collides with the other balls; see PuckSwarm for thousands of pucks.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class PuckPool implements PuckSpawner {
+    private final EntityRegistry entityRegistry;
+    private final Renderable puckImage;
+    private final Sound collisionSound;
+    private final Vector2 windowDimensions;
+    private final Vector2 puckDimensions;
+    private final Ball[] livePucks;
+    private final Ball[] freePucks;
+    private int liveCount = 0;
+    private int freeCount = 0;
+    private int poolSize = 0;
+    private long reuseCount = 0;
+
+    /**
+     * Constructs an empty PuckPool with the specified parameters.
+     * @param entityRegistry   The registry the pucks are added to the game through.
+     * @param puckImage        The renderable shared by all pucks.
+     * @param collisionSound   The sound played when a puck collides.
+     * @param windowDimensions The dimensions of the game window, which bound the play area.
+     * @param capacity         The maximum number of pucks the pool ever creates.
+     */
+    public PuckPool(EntityRegistry entityRegistry, Renderable puckImage, Sound collisionSound,
+                    Vector2 windowDimensions, int capacity) {
+        this.entityRegistry = entityRegistry;
+        this.puckImage = puckImage;
+        this.collisionSound = collisionSound;
+        this.windowDimensions = windowDimensions;
+        this.puckDimensions = new Vector2(Constants.PUCK_RADIUS, Constants.PUCK_RADIUS);
+        this.livePucks = new Ball[capacity];
+        this.freePucks = new Ball[capacity];
+    }
+
+    /**
+     * Puts a puck in play, reusing a reclaimed puck if there is one.
+     * @param center   The center of the puck.
+     * @param velocity The initial velocity of the puck.
+     * @return The puck that was added to the game, or null if the pool is exhausted.
+     */
+    public Ball spawn(Vector2 center, Vector2 velocity) {
+        Ball puck;
+        if (freeCount > 0) {
+            puck = freePucks[--freeCount];
+            freePucks[freeCount] = null;
+            // a reused puck would otherwise still move by its old velocity on its first update
+            Positions.stop(puck);
+            reuseCount++;
+        } else if (poolSize < livePucks.length) {
+            puck = new Ball(Vector2.ZERO, puckDimensions, puckImage, collisionSound, null);
+            poolSize++;
+        } else {
+            return null;
+        }
+        Positions.centerAt(puck, center);
+        puck.setVelocity(velocity);
+        livePucks[liveCount++] = puck;
+        entityRegistry.addGameObject(puck, EntityKind.PUCK);
+        return puck;
+    }
+
+    /**
+     * Puts a puck in play, reusing a reclaimed puck if there is one.
+     * @param center   The center of the puck.
+     * @param velocity The initial velocity of the puck.
+     * @return True if the puck was put in play, false if the pool is exhausted.
+     */
+    @Override
+    public boolean spawnPuck(Vector2 center, Vector2 velocity) {
+        return spawn(center, velocity) != null;
+    }
+
+    /**
+     * Removes from the game every puck that is entirely outside the play area, and keeps it for reuse.
+     * Should be called once per frame.
+     * @return The number of pucks reclaimed.
+     */
+    public int reclaimEscaped() {
+        int reclaimed = 0;
+        int i = 0;
+        while (i < liveCount) {
+            Ball puck = livePucks[i];
+            if (Positions.isOutside(puck, windowDimensions)) {
+                entityRegistry.removeGameObject(puck);
+                // swap the last live puck into this slot, and check the slot again
+                livePucks[i] = livePucks[--liveCount];
+                livePucks[liveCount] = null;
+                freePucks[freeCount++] = puck;
+                reclaimed++;
+            } else {
+                i++;
+            }
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Removes every puck in play from the game, and keeps them all for reuse, such as when a new game starts.
+     */
+    public void reclaimAll() {
+        while (liveCount > 0) {
+            Ball puck = livePucks[--liveCount];
+            livePucks[liveCount] = null;
+            entityRegistry.removeGameObject(puck);
+            freePucks[freeCount++] = puck;
+        }
+    }
+
+    /**
+     * Gets the number of pucks created by the pool so far.
+     * @return The pool size.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Gets the maximum number of pucks the pool creates.
+     * @return The pool capacity.
+     */
+    public int getCapacity() {
+        return livePucks.length;
+    }
+
+    /**
+     * Gets the number of pucks currently in play.
+     * @return The number of live pucks.
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the number of times a reclaimed puck was put back in play.
+     * @return The number of reuses.
+     */
+    public long getReuseCount() {
+        return reuseCount;
+    }
+}
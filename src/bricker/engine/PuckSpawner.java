@@ -0,0 +1,18 @@
+package bricker.engine;
+
+import danogl.util.Vector2;
+
+/**
+ * PuckSpawner is where the extra pucks spawned by bricks are put in play: a PuckPool of ordinary pucks, or a
+ * PuckSwarm holding thousands of them in a compact form.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public interface PuckSpawner {
+    /**
+     * Puts a puck in play.
+     * @param center   The center of the puck.
+     * @param velocity The initial velocity of the puck.
+     * @return True if the puck was put in play, false if the spawner is full.
+     */
+    boolean spawnPuck(Vector2 center, Vector2 velocity);
+}
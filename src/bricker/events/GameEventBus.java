@@ -0,0 +1,84 @@
+package bricker.events;
+
+import danogl.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * GameEventBus delivers the events of a single game, such as destroyed bricks and lost lives, to the
+ * listeners subscribed to their type. Listeners are called synchronously, in subscription order, on the
+ * thread that publishes.
+ * The listeners of each type are kept in a plain array, so publishing an event allocates nothing and costs
+ * nothing for types without listeners, and nothing is done in frames without events, however many listeners
+ * there are. A bus belongs to a single game and is not thread-safe.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameEventBus {
+    private static final GameEventListener[] NO_LISTENERS = new GameEventListener[0];
+
+    private final GameEventListener[][] listeners = new GameEventListener[GameEventType.values().length][];
+
+    /**
+     * Constructs a GameEventBus without listeners.
+     */
+    public GameEventBus() {
+        Arrays.fill(listeners, NO_LISTENERS);
+    }
+
+    /**
+     * Subscribes a listener to the events of the specified type.
+     * @param type     The type of events to receive.
+     * @param listener The listener to subscribe.
+     */
+    public void subscribe(GameEventType type, GameEventListener listener) {
+        GameEventListener[] current = listeners[type.ordinal()];
+        GameEventListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners[type.ordinal()] = updated;
+    }
+
+    /**
+     * Subscribes a listener to the events of every type.
+     * @param listener The listener to subscribe.
+     */
+    public void subscribeAll(GameEventListener listener) {
+        for (GameEventType type : GameEventType.values()) {
+            subscribe(type, listener);
+        }
+    }
+
+    /**
+     * Unsubscribes a listener from the events of the specified type.
+     * @param type     The type of events the listener was subscribed to.
+     * @param listener The listener to unsubscribe.
+     * @return True if the listener was subscribed to this type.
+     */
+    public boolean unsubscribe(GameEventType type, GameEventListener listener) {
+        GameEventListener[] current = listeners[type.ordinal()];
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GameEventListener[] updated = new GameEventListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners[type.ordinal()] = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Publishes an event to the listeners subscribed to its type. A listener subscribed or unsubscribed
+     * while the event is delivered takes effect from the next event.
+     * @param type   The type of the event.
+     * @param source The game object the event is about.
+     * @param value  The value of the event, whose meaning depends on its type.
+     */
+    public void publish(GameEventType type, GameObject source, int value) {
+        // the array is replaced, never modified, on subscription, so it is safe to iterate while delivering
+        GameEventListener[] current = listeners[type.ordinal()];
+        for (GameEventListener listener : current) {
+            listener.onEvent(type, source, value);
+        }
+    }
+}
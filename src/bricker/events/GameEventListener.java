@@ -0,0 +1,18 @@
+package bricker.events;
+
+import danogl.GameObject;
+
+/**
+ * GameEventListener receives the events of a GameEventBus it is subscribed to. Events are passed as plain
+ * arguments rather than as event objects, so publishing an event allocates nothing.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public interface GameEventListener {
+    /**
+     * Called when an event the listener is subscribed to is published.
+     * @param type   The type of the event.
+     * @param source The game object the event is about.
+     * @param value  The value of the event, whose meaning depends on its type.
+     */
+    void onEvent(GameEventType type, GameObject source, int value);
+}
@@ -0,0 +1,18 @@
+package bricker.events;
+
+/**
+ * GameEventType is an enumeration of the events published on a GameEventBus. Each event carries the game
+ * object it is about and a single int value, whose meaning depends on the type.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public enum GameEventType {
+    /** A brick was destroyed. The source is the brick, the value is the number of bricks left. */
+    BRICK_DESTROYED,
+    /** The player lost a life. The source is the lost ball, the value is the number of lives left. */
+    LIFE_LOST,
+    /** A ball fell below the bottom of the window. The source is the ball, the value is unused (0). */
+    BALL_OUT_OF_BOUNDS,
+    /** A brick's collision strategy was triggered. The source is the brick, the value is the ordinal of its
+     * StrategyType. */
+    STRATEGY_TRIGGERED
+}
@@ -0,0 +1,77 @@
+package bricker.events;
+
+import bricker.brick_strategies.StrategyType;
+import danogl.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * GameTelemetry counts the events of a game, as a subscriber of its GameEventBus: how many bricks were
+ * destroyed, lives lost, balls that fell out of the window, and how many times each collision strategy was
+ * triggered. It only does work when an event is published.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameTelemetry implements GameEventListener {
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+
+    private final long[] eventCounts = new long[GameEventType.values().length];
+    private final long[] strategyCounts = new long[STRATEGY_TYPES.length];
+
+    /**
+     * Counts an event.
+     * @param type   The type of the event.
+     * @param source The game object the event is about.
+     * @param value  The value of the event.
+     */
+    @Override
+    public void onEvent(GameEventType type, GameObject source, int value) {
+        eventCounts[type.ordinal()]++;
+        if (type == GameEventType.STRATEGY_TRIGGERED) {
+            strategyCounts[value]++;
+        }
+    }
+
+    /**
+     * Gets the number of events of the specified type published so far.
+     * @param type The type of event.
+     * @return The number of events of this type.
+     */
+    public long count(GameEventType type) {
+        return eventCounts[type.ordinal()];
+    }
+
+    /**
+     * Gets the number of times a collision strategy was triggered so far.
+     * @param strategyType The type of strategy.
+     * @return The number of triggers of this strategy.
+     */
+    public long count(StrategyType strategyType) {
+        return strategyCounts[strategyType.ordinal()];
+    }
+
+    /**
+     * Sets every count back to zero, such as when a new game starts.
+     */
+    public void clear() {
+        Arrays.fill(eventCounts, 0);
+        Arrays.fill(strategyCounts, 0);
+    }
+
+    /**
+     * Returns a human readable report of the counted events.
+     * @return The report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("events:");
+        for (GameEventType type : GameEventType.values()) {
+            report.append(' ').append(type).append('=').append(eventCounts[type.ordinal()]);
+        }
+        report.append(System.lineSeparator()).append("strategy triggers:");
+        for (StrategyType strategyType : STRATEGY_TYPES) {
+            report.append(' ').append(strategyType).append('=')
+                    .append(strategyCounts[strategyType.ordinal()]);
+        }
+        return report.toString();
+    }
+}
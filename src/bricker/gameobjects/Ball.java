@@ -1,6 +1,9 @@
 package bricker.gameobjects;
 
 import bricker.brick_strategies.CollisionStrategy;
+import bricker.collisions.SweptAabb;
+import bricker.events.GameEventBus;
+import bricker.events.GameEventType;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.Sound;
@@ -17,6 +20,13 @@ public class Ball extends GameObject {
     private Sound collisionSound;
     private int collisionCounter = 0;
     private CollisionStrategy collisionStrategy;
+    private final GameEventBus eventBus;
+    private final float floorHeight;
+    private boolean outOfBounds = false;
+    private Vector2 stepDisplacement = Vector2.ZERO;
+    private float stepTime = 0;
+    private float correctionX = 0;
+    private float correctionY = 0;
 
     /**
      * Constructs a Ball object with the specified parameters.
@@ -30,14 +40,81 @@ public class Ball extends GameObject {
      */
     public Ball(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound,
                 CollisionStrategy collisionStrategy) {
+        this(topLeftCorner, dimensions, renderable, collisionSound, collisionStrategy, null, 0);
+    }
+
+    /**
+     * Constructs a Ball object that publishes a BALL_OUT_OF_BOUNDS event when it falls below the window.
+     * @param topLeftCorner     Position of the ball, in window coordinates (pixels).
+     *                          Note that (0,0) is the top-left corner of the window.
+     * @param dimensions        Width and height in window coordinates.
+     * @param renderable        The renderable representing the ball. Can be null, in which case
+     *                          the Ball will not be rendered.
+     * @param collisionSound    The sound to be played on collision.
+     * @param collisionStrategy The collision strategy to execute custom behavior on collisions.
+     * @param eventBus          The bus the event is published on, or null to publish nothing.
+     * @param floorHeight       The height below which the center of the ball is out of bounds.
+     */
+    public Ball(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound,
+                CollisionStrategy collisionStrategy, GameEventBus eventBus, float floorHeight) {
         super(topLeftCorner, dimensions, renderable);
         this.collisionSound = collisionSound;
         this.collisionStrategy = collisionStrategy;
+        this.eventBus = eventBus;
+        this.floorHeight = floorHeight;
+    }
+
+    /**
+     * Moves the ball, after moving it out of whatever it bounced off in the last step, and remembers how it
+     * moved so that a collision found at the end of the step can be traced back to the face it came through.
+     * Publishes a BALL_OUT_OF_BOUNDS event the first time the ball falls below the floor, until it is placed
+     * again.
+     * @param deltaTime The time elapsed, in seconds, since the last step.
+     */
+    @Override
+    public void update(float deltaTime) {
+        if (correctionX != 0 || correctionY != 0) {
+            super.setTopLeftCorner(getTopLeftCorner().add(new Vector2(correctionX, correctionY)));
+            correctionX = 0;
+            correctionY = 0;
+        }
+        // the corner is the engine's own mutable vector, so its coordinates are copied before it moves
+        float startX = getTopLeftCorner().x();
+        float startY = getTopLeftCorner().y();
+        super.update(deltaTime);
+        stepDisplacement = new Vector2(getTopLeftCorner().x() - startX, getTopLeftCorner().y() - startY);
+        stepTime = deltaTime;
+        if (eventBus != null && !outOfBounds &&
+                getTopLeftCorner().y() + getDimensions().y() / 2 > floorHeight) {
+            // set first, as a listener may place the ball back in bounds
+            outOfBounds = true;
+            eventBus.publish(GameEventType.BALL_OUT_OF_BOUNDS, this, 0);
+        }
+    }
+
+    /**
+     * Places the ball, dropping its last step and any bounce correction still pending from it, and allowing
+     * it to fall out of bounds again.
+     * @param topLeftCorner The new top-left corner of the ball.
+     */
+    @Override
+    public void setTopLeftCorner(Vector2 topLeftCorner) {
+        super.setTopLeftCorner(topLeftCorner);
+        stepDisplacement = Vector2.ZERO;
+        stepTime = 0;
+        correctionX = 0;
+        correctionY = 0;
+        outOfBounds = false;
     }
 
     /**
      * Called on the first frame of a collision. Handles collision-related logic such as
      * updating the velocity, playing collision sound, and executing custom collision strategy.
+     * The ball bounces off the face it entered the other object through, found by sweeping its last step,
+     * so that a fast ball deep inside a brick, a border or a paddle bounces the right way, and is mirrored
+     * back out of that face on its next update. The engine moves an object by the velocity it had before its
+     * last update, so a ball left inside would go one more step in and could come out on the far side of a
+     * thin border. Bounces off another ball are left to the engine's normal, as both balls move.
      * @param other     The GameObject with which a collision occurred.
      * @param collision Information regarding this collision.
      */
@@ -45,7 +122,20 @@ public class Ball extends GameObject {
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
 
-        Vector2 newVel = getVelocity().flipped(collision.getNormal());
+        Vector2 normal = null;
+        if (!(other instanceof Ball)) {
+            normal = SweptAabb.entryNormal(getTopLeftCorner(), getDimensions(),
+                    stepDisplacement.subtract(other.getVelocity().mult(stepTime)),
+                    other.getTopLeftCorner(), other.getDimensions());
+        }
+        if (normal == null) {
+            // the ball was already overlapping the object before its last step
+            normal = collision.getNormal();
+        }
+        else {
+            reflectOutOf(other, normal);
+        }
+        Vector2 newVel = getVelocity().flipped(normal);
         setVelocity(newVel);
         collisionCounter++;
         collisionSound.play();
@@ -61,4 +151,27 @@ public class Ball extends GameObject {
     public int getCollisionCounter() {
         return collisionCounter;
     }
+
+    /*
+     * Sets the correction that mirrors the ball along the normal, from inside the other object to the outside
+     * of its entry face. Applied on the next update, since the engine may still query the overlap.
+     */
+    private void reflectOutOf(GameObject other, Vector2 normal) {
+        Vector2 topLeftCorner = getTopLeftCorner();
+        Vector2 dimensions = getDimensions();
+        Vector2 otherTopLeftCorner = other.getTopLeftCorner();
+        Vector2 otherDimensions = other.getDimensions();
+        if (normal.x() != 0) {
+            float depth = normal.x() > 0 ?
+                    otherTopLeftCorner.x() + otherDimensions.x() - topLeftCorner.x() :
+                    topLeftCorner.x() + dimensions.x() - otherTopLeftCorner.x();
+            correctionX = 2 * normal.x() * Math.max(depth, 0);
+        }
+        else {
+            float depth = normal.y() > 0 ?
+                    otherTopLeftCorner.y() + otherDimensions.y() - topLeftCorner.y() :
+                    topLeftCorner.y() + dimensions.y() - otherTopLeftCorner.y();
+            correctionY = 2 * normal.y() * Math.max(depth, 0);
+        }
+    }
 }
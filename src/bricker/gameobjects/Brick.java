@@ -1,6 +1,8 @@
 package bricker.gameobjects;
 
 import bricker.brick_strategies.CollisionStrategy;
+import bricker.events.GameEventBus;
+import bricker.events.GameEventType;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
@@ -14,8 +16,9 @@ import danogl.util.Vector2;
  * @author Idan Hippach, Noam Barzilay
  */
 public class Brick extends GameObject {
-    private final CollisionStrategy collisionStrategy;
+    private CollisionStrategy collisionStrategy;
     private final Counter bricksCounter;
+    private final GameEventBus eventBus;
     private boolean isDestroyed = false;
 
     /**
@@ -28,17 +31,20 @@ public class Brick extends GameObject {
      * @param collisionStrategy The collision strategy to execute custom behavior on collisions with this
      *                          brick.
      * @param counter           Counter representing the number of current bricks in the game.
+     * @param eventBus          The bus on which the destruction of the brick is published.
      */
     public Brick(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                 CollisionStrategy collisionStrategy, Counter counter) {
+                 CollisionStrategy collisionStrategy, Counter counter, GameEventBus eventBus) {
         super(topLeftCorner, dimensions, renderable);
         this.collisionStrategy = collisionStrategy;
         this.bricksCounter = counter;
+        this.eventBus = eventBus;
     }
 
     /**
      * Called on the first frame of a collision. Destroys the brick, decrements the number
-     * of active bricks on the screen, and executes a custom collision strategy if provided.
+     * of active bricks on the screen, executes a custom collision strategy if provided, and publishes
+     * the destruction of the brick.
      * @param other     The GameObject with which a collision occurred.
      * @param collision Information regarding this collision.
      */
@@ -51,7 +57,25 @@ public class Brick extends GameObject {
             if (collisionStrategy != null) {
                 collisionStrategy.onCollision(this, other);
             }
+            eventBus.publish(GameEventType.BRICK_DESTROYED, this, bricksCounter.value());
         }
 
     }
+
+    /**
+     * Checks whether the brick was destroyed.
+     * @return True if the brick was hit since it was created or last restored.
+     */
+    public boolean isDestroyed() {
+        return isDestroyed;
+    }
+
+    /**
+     * Restores the brick for a new game, in place, with a new collision strategy.
+     * @param collisionStrategy The collision strategy to execute on the brick's next collision.
+     */
+    public void restore(CollisionStrategy collisionStrategy) {
+        this.collisionStrategy = collisionStrategy;
+        this.isDestroyed = false;
+    }
 }
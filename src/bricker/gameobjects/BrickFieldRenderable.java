@@ -0,0 +1,77 @@
+package bricker.gameobjects;
+
+import bricker.collisions.BrickField;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * BrickFieldRenderable draws every live brick of a BrickField, so that a whole field of bricks is rendered
+ * by a single game object. The game object covers a fixed area of the game world, and bricks are mapped
+ * from that area to wherever (and at whatever scale) the camera renders it.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class BrickFieldRenderable implements Renderable {
+    private final BrickField brickField;
+    private final Renderable brickImage;
+    private final Vector2 worldTopLeftCorner;
+    private final Vector2 worldDimensions;
+
+    /**
+     * Constructs a BrickFieldRenderable with the specified parameters.
+     * @param brickField         The field whose live bricks are drawn.
+     * @param brickImage         The renderable representing a single brick.
+     * @param worldTopLeftCorner The top-left corner of the game object this renderable is drawn by, in
+     *                           window coordinates.
+     * @param worldDimensions    The dimensions of the game object this renderable is drawn by.
+     */
+    public BrickFieldRenderable(BrickField brickField, Renderable brickImage, Vector2 worldTopLeftCorner,
+                                Vector2 worldDimensions) {
+        this.brickField = brickField;
+        this.brickImage = brickImage;
+        this.worldTopLeftCorner = worldTopLeftCorner;
+        this.worldDimensions = worldDimensions;
+    }
+
+    /**
+     * Draws the live bricks of the field. Bricks outside the clip area are skipped, and an image brick is
+     * drawn straight from its image, without allocating per brick.
+     * @param g                       The graphics to draw with.
+     * @param topLeftCorner           The top-left corner of the game object on the screen.
+     * @param dimensions              The dimensions of the game object on the screen.
+     * @param degreesCounterClockwise Ignored, the bricks are never rotated.
+     * @param isFlippedHorizontally   Ignored, the bricks are never flipped.
+     * @param isFlippedVertically     Ignored, the bricks are never flipped.
+     * @param opacity                 Ignored, the bricks are opaque.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opacity) {
+        float scaleX = dimensions.x() / worldDimensions.x();
+        float scaleY = dimensions.y() / worldDimensions.y();
+        Rectangle clip = g.getClipBounds();
+        BufferedImage image = brickImage instanceof ImageRenderable ?
+                ((ImageRenderable) brickImage).getImage() : null;
+        for (int brick = brickField.nextAlive(0); brick >= 0; brick = brickField.nextAlive(brick + 1)) {
+            int screenX = Math.round(topLeftCorner.x() +
+                    (brickField.getX(brick) - worldTopLeftCorner.x()) * scaleX);
+            int screenY = Math.round(topLeftCorner.y() +
+                    (brickField.getY(brick) - worldTopLeftCorner.y()) * scaleY);
+            int screenWidth = Math.round(brickField.getWidth(brick) * scaleX);
+            int screenHeight = Math.round(brickField.getHeight(brick) * scaleY);
+            if (clip != null && !clip.intersects(screenX, screenY, screenWidth, screenHeight)) {
+                continue;
+            }
+            if (image != null) {
+                g.drawImage(image, screenX, screenY, screenWidth, screenHeight, null);
+            }
+            else {
+                brickImage.render(g, new Vector2(screenX, screenY), new Vector2(screenWidth, screenHeight));
+            }
+        }
+    }
+}
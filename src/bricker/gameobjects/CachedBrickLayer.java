@@ -0,0 +1,110 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * CachedBrickLayer keeps every brick of the board drawn in a single off-screen image, so that the whole
+ * brick layer is rendered with one blit per frame, however many bricks there are. The bricks are drawn
+ * into the image once, when the board is built, and a destroyed brick is cleared from it by erasing only
+ * its own rectangle, since the layer changes only when a brick is destroyed.
+ * The image covers a fixed area of the game world, one image pixel per world pixel, and is scaled to
+ * wherever (and at whatever scale) the camera renders that area.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class CachedBrickLayer implements Renderable {
+    private final BufferedImage layer;
+    private final Vector2 worldTopLeftCorner;
+
+    /**
+     * Constructs an empty CachedBrickLayer.
+     * @param worldTopLeftCorner The top-left corner of the game object this layer is drawn by, in window
+     *                           coordinates.
+     * @param worldDimensions    The dimensions of the game object this layer is drawn by.
+     */
+    public CachedBrickLayer(Vector2 worldTopLeftCorner, Vector2 worldDimensions) {
+        this.worldTopLeftCorner = worldTopLeftCorner;
+        this.layer = new BufferedImage(Math.max(1, Math.round(worldDimensions.x())),
+                Math.max(1, Math.round(worldDimensions.y())), BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Draws a single brick into the layer.
+     * @param brickImage    The renderable representing the brick.
+     * @param topLeftCorner The top-left corner of the brick, in window coordinates.
+     * @param dimensions    The dimensions of the brick.
+     */
+    public void drawBrick(Renderable brickImage, Vector2 topLeftCorner, Vector2 dimensions) {
+        // snapped to whole pixels, so that clearBrick later erases exactly the pixels drawn here
+        Vector2 layerTopLeftCorner = new Vector2(Math.round(topLeftCorner.x() - worldTopLeftCorner.x()),
+                Math.round(topLeftCorner.y() - worldTopLeftCorner.y()));
+        Vector2 layerDimensions = new Vector2(Math.round(dimensions.x()), Math.round(dimensions.y()));
+        Graphics2D g = layer.createGraphics();
+        try {
+            brickImage.render(g, layerTopLeftCorner, layerDimensions);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Draws a renderable that covers the whole area of the layer into it, such as a BrickFieldRenderable
+     * drawing every brick of a field at once.
+     * @param bricks The renderable to draw.
+     */
+    public void drawAll(Renderable bricks) {
+        Graphics2D g = layer.createGraphics();
+        try {
+            bricks.render(g, Vector2.ZERO, new Vector2(layer.getWidth(), layer.getHeight()));
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Erases a destroyed brick from the layer, leaving the rest of the layer as it is.
+     * @param brick The destroyed brick.
+     */
+    public void clearBrick(GameObject brick) {
+        Vector2 topLeftCorner = brick.getTopLeftCorner();
+        Vector2 dimensions = brick.getDimensions();
+        // rounded the same way the bricks were drawn, so that no edge of the brick is left behind
+        int left = Math.round(topLeftCorner.x() - worldTopLeftCorner.x());
+        int top = Math.round(topLeftCorner.y() - worldTopLeftCorner.y());
+        int width = Math.round(dimensions.x());
+        int height = Math.round(dimensions.y());
+        if (width <= 0 || height <= 0) {
+            // a brick this small was never drawn
+            return;
+        }
+        Graphics2D g = layer.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(left, top, width, height);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Draws the layer with a single blit.
+     * @param g                       The graphics to draw with.
+     * @param topLeftCorner           The top-left corner of the game object on the screen.
+     * @param dimensions              The dimensions of the game object on the screen.
+     * @param degreesCounterClockwise Ignored, the layer is never rotated.
+     * @param isFlippedHorizontally   Ignored, the layer is never flipped.
+     * @param isFlippedVertically     Ignored, the layer is never flipped.
+     * @param opacity                 Ignored, the layer is opaque wherever there is a brick.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opacity) {
+        g.drawImage(layer, Math.round(topLeftCorner.x()), Math.round(topLeftCorner.y()),
+                Math.round(dimensions.x()), Math.round(dimensions.y()), null);
+    }
+}
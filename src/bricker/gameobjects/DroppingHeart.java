@@ -1,23 +1,24 @@
 package bricker.gameobjects;
 
 import bricker.brick_strategies.CollisionStrategy;
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
 /**
  * DroppingHeart is a GameObject representing a heart that drops from the screen.
  * It extends the basic GameObject class and includes additional functionality
- * such as collision handling, movement, and removal when reaching the bottom of the screen.
+ * such as collision handling and movement. A heart that falls out of the screen is culled by the
+ * LifecycleManager.
  * @author Idan Hippach, Noam Barzilay
  */
 public class DroppingHeart extends GameObject {
     private static final int MOVEMENT_SPEED = 100;
     private CollisionStrategy collisionStrategy;
-    private Vector2 windowDimensions;
-    private GameObjectCollection gameObjects;
+    private EntityRegistry entityRegistry;
 
     /**
      * Constructs a DroppingHeart object with the specified parameters.
@@ -27,19 +28,16 @@ public class DroppingHeart extends GameObject {
      * @param dimensions         Width and height in window coordinates.
      * @param renderable         The renderable representing the heart. Can be null, in which case
      *                           the DroppingHeart will not be rendered.
-     * @param windowDimensions   The window dimensions representing the size of the game window.
-     * @param gameObjects        Collection of game objects to interact with during updates.
+     * @param entityRegistry     The registry of live entities, used to find the main paddle.
      * @param collisionStrategy  The collision strategy to execute custom behavior on collisions with this
      *                          heart.
      */
     public DroppingHeart(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                         Vector2 windowDimensions, GameObjectCollection gameObjects,
-                         CollisionStrategy collisionStrategy) {
+                         EntityRegistry entityRegistry, CollisionStrategy collisionStrategy) {
         super(topLeftCorner, dimensions, renderable);
         this.setVelocity(Vector2.DOWN.mult(MOVEMENT_SPEED));
         this.collisionStrategy = collisionStrategy;
-        this.windowDimensions = windowDimensions;
-        this.gameObjects = gameObjects;
+        this.entityRegistry = entityRegistry;
     }
 
     /**
@@ -49,7 +47,7 @@ public class DroppingHeart extends GameObject {
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        return other.getTag().equals("Main Paddle");
+        return other == entityRegistry.first(EntityKind.MAIN_PADDLE);
     }
 
     /**
@@ -62,17 +60,4 @@ public class DroppingHeart extends GameObject {
         super.onCollisionEnter(other, collision);
         collisionStrategy.onCollision(this, other);
     }
-
-    /**
-     * Updates the position of the dropping heart and removes it when it reaches the bottom of the screen.
-     * @param deltaTime The time elapsed, in seconds, since the last frame.
-     */
-    @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (this.getTopLeftCorner().y() == windowDimensions.y()) {
-            gameObjects.removeGameObject(this);
-        }
-    }
 }
-
@@ -1,22 +1,23 @@
 package bricker.gameobjects;
 
-
+import bricker.engine.LivesCounter;
+import bricker.engine.LivesListener;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 
 /**
  * GraphicLifeCounter is a GameObject that visually represents the player's remaining lives
  * in a graphical format using heart images. It extends the basic GameObject class and includes
  * functionality to update and manage the displayed hearts based on the player's current life count.
+ * The hearts are added and removed when the lives counter reports a change, rather than by comparing the
+ * counter to the displayed hearts every frame.
  * @author Idan Hippach, Noam Barzilay
  */
-public class GraphicLifeCounter extends GameObject {
+public class GraphicLifeCounter extends GameObject implements LivesListener {
     private int numOfLives;
-    private Counter livesCounter;
     private GameObjectCollection gameObjects;
     private GameObject[] hearts;
 
@@ -27,15 +28,14 @@ public class GraphicLifeCounter extends GameObject {
      * @param widgetDimensions         The dimensions of each heart in the life counter.
      * @param widgetRenderable         The renderable representing the heart image used in the life counter.
      * @param numOfLives               The initial number of lives to be displayed in the life counter.
-     * @param livesCounter             The Counter instance representing the player's remaining lives.
+     * @param livesCounter             The LivesCounter representing the player's remaining lives.
      * @param gameObjectsCollection    The collection of game objects to interact with during updates.
      */
     public GraphicLifeCounter(Vector2 widgetTopLeftCorner, Vector2 widgetDimensions,
-                              Renderable widgetRenderable, int numOfLives, Counter livesCounter,
+                              Renderable widgetRenderable, int numOfLives, LivesCounter livesCounter,
                               GameObjectCollection gameObjectsCollection) {
         super(widgetTopLeftCorner, widgetDimensions, null);
         this.numOfLives = numOfLives;
-        this.livesCounter = livesCounter;
         this.gameObjects = gameObjectsCollection;
 
         hearts = new GameObject[numOfLives + 1];
@@ -47,21 +47,24 @@ public class GraphicLifeCounter extends GameObject {
         }
         hearts[numOfLives] = new GameObject(widgetTopLeftCorner.add(new Vector2(numOfLives *
                 widgetDimensions.x(), widgetDimensions.y())), widgetDimensions, widgetRenderable);
+        livesCounter.addListener(this);
     }
 
     /**
-     * Updates the GraphicLifeCounter, managing the displayed hearts based on the player's current life count.
-     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     * Adds or removes hearts so that one heart is shown per remaining life (up to the maximal number of
+     * hearts).
+     * @param previousLives The number of lives before the change.
+     * @param lives         The number of lives after the change.
      */
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        // if there are more hearts on the screen than there are lives left
-        if (livesCounter.value() < numOfLives) {
-            // remove hearts from the screen
-            gameObjects.removeGameObject(hearts[livesCounter.value()], Layer.UI);
-            numOfLives--;
-        } else if (livesCounter.value() > numOfLives)
-            // add hearts to the screen (up to 4 max)
+    @Override
+    public void onLivesChanged(int previousLives, int lives) {
+        // if there are more hearts on the screen than there are lives left, remove hearts from the screen
+        while (numOfLives > Math.max(lives, 0)) {
+            gameObjects.removeGameObject(hearts[--numOfLives], Layer.UI);
+        }
+        // add hearts to the screen (up to 4 max)
+        while (numOfLives < lives && numOfLives < hearts.length) {
             gameObjects.addGameObject(hearts[numOfLives++], Layer.UI);
+        }
     }
 }
@@ -1,9 +1,10 @@
 package bricker.gameobjects;
 
 import bricker.brick_strategies.CollisionStrategy;
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
@@ -21,9 +22,9 @@ public class Heart extends GameObject {
     private static final int MOVEMENT_SPEED = 100;
 
     /**
-     * The collection of game objects to check for collisions with the main paddle.
+     * The registry of live entities, used to check whether the main paddle is in the game.
      */
-    private GameObjectCollection gameObjectsCollection;
+    private EntityRegistry entityRegistry;
 
     /**
      * The collision strategy to be executed upon collision with the main paddle.
@@ -36,13 +37,13 @@ public class Heart extends GameObject {
      * @param topLeftCorner        The top-left corner position of the heart in window coordinates.
      * @param dimensions           The dimensions of the heart in window coordinates.
      * @param renderable           The renderable representing the heart. Can be null.
-     * @param gameObjectsCollection The collection of game objects to check for collisions with the main paddle.
+     * @param entityRegistry        The registry of live entities, used to find the main paddle.
      * @param collisionStrategy     The collision strategy to be executed upon collision with the main paddle.
      */
     public Heart(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                 GameObjectCollection gameObjectsCollection, CollisionStrategy collisionStrategy) {
+                 EntityRegistry entityRegistry, CollisionStrategy collisionStrategy) {
         super(topLeftCorner, dimensions, renderable);
-        this.gameObjectsCollection = gameObjectsCollection;
+        this.entityRegistry = entityRegistry;
         this.setVelocity(Vector2.DOWN.mult(MOVEMENT_SPEED));
         this.collisionStrategy = collisionStrategy;
     }
@@ -56,12 +57,7 @@ public class Heart extends GameObject {
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        for (GameObject gameObject : gameObjectsCollection) {
-            if (gameObject.getTag().equals("Main Paddle")) {
-                return true;
-            }
-        }
-        return false;
+        return entityRegistry.contains(EntityKind.MAIN_PADDLE);
     }
 
     /**
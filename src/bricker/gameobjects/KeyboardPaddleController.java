@@ -0,0 +1,40 @@
+package bricker.gameobjects;
+
+import danogl.gui.UserInputListener;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * KeyboardPaddleController moves a paddle by the left and right arrow keys of a UserInputListener. Pressing
+ * both keys keeps the paddle in place.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class KeyboardPaddleController implements PaddleController {
+    private final UserInputListener inputListener;
+
+    /**
+     * Constructs a KeyboardPaddleController over the specified input listener.
+     * @param inputListener The user's input listener for detecting key presses.
+     */
+    public KeyboardPaddleController(UserInputListener inputListener) {
+        this.inputListener = inputListener;
+    }
+
+    /**
+     * Moves the paddle towards the pressed arrow key.
+     * @param paddle    The paddle being moved.
+     * @param deltaTime The time elapsed, in seconds, since the last update.
+     * @return -1 if only the left key is pressed, 1 if only the right key is pressed, and 0 otherwise.
+     */
+    @Override
+    public float steer(Paddle paddle, float deltaTime) {
+        float direction = 0;
+        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
+            direction -= 1;
+        }
+        if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
+            direction += 1;
+        }
+        return direction;
+    }
+}
@@ -6,16 +6,15 @@ import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-import java.awt.event.KeyEvent;
-
 /**
  * Paddle represents a movable object in the game, controlled by the user's input.
  * It extends the basic GameObject class and includes functionality for handling input,
  * updating its position based on user commands, and ensuring it stays within the game window's bounds.
+ * The input is read through a swappable PaddleController, the arrow keys by default.
  * @author Idan Hippach, Noam Barzilay
  */
 public class Paddle extends GameObject {
-    private UserInputListener inputListener;
+    private PaddleController controller;
     private Vector2 windowDimensions;
 
     /**
@@ -30,29 +29,30 @@ public class Paddle extends GameObject {
     public Paddle(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
                   UserInputListener inputListener, Vector2 windowDimensions){
         super(topLeftCorner, dimensions, renderable);
-        this.inputListener = inputListener;
+        this.controller = new KeyboardPaddleController(inputListener);
         this.windowDimensions = windowDimensions;
     }
 
+    /**
+     * Replaces the input source the paddle is moved by.
+     * @param controller The new controller of the paddle.
+     */
+    public void setController(PaddleController controller) {
+        this.controller = controller;
+    }
+
     /**
      * Should be called once per frame.
-     * Updates the Paddle's position based on user input and ensures it stays within the game window's bounds.
+     * Updates the Paddle's position based on its controller's input and ensures it stays within the game
+     * window's bounds.
      * @param deltaTime The time elapsed, in seconds, since the last frame.
      */
     @Override
     public void update(float deltaTime){
         super.update(deltaTime);
-        // initialize velocity vector to zero, so that in case no key is pressed, paddle will stay in place
-        Vector2 paddleVelocity = Vector2.ZERO;
-        // if left key is pressed
-        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
-            paddleVelocity = paddleVelocity.add(Vector2.LEFT);
-        }
-        if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
-            paddleVelocity = paddleVelocity.add(Vector2.RIGHT);
-        }
-        // set velocity
-        setVelocity(paddleVelocity.mult(Constants.PADDLE_SPEED));
+        float direction = controller.steer(this, deltaTime);
+        // a paddle with no input stays in place
+        setVelocity(direction == 0 ? Vector2.ZERO : new Vector2(direction * Constants.PADDLE_SPEED, 0));
 
         // if the distance from window's edge is less than minDistFromBorder, we set paddle to be on edge
         if (getTopLeftCorner().x() < Constants.BORDER_SIZE) {
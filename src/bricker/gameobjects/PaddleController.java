@@ -0,0 +1,17 @@
+package bricker.gameobjects;
+
+/**
+ * PaddleController is the input source a Paddle is moved by: the player's arrow keys, or a driver such as
+ * an autopilot in headless simulations. It is asked once per update which way the paddle should move.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public interface PaddleController {
+    /**
+     * Decides how the paddle moves in this update.
+     * @param paddle    The paddle being moved.
+     * @param deltaTime The time elapsed, in seconds, since the last update.
+     * @return The horizontal direction of the paddle, from -1 (full speed left) to 1 (full speed right);
+     *         0 keeps the paddle in place.
+     */
+    float steer(Paddle paddle, float deltaTime);
+}
@@ -0,0 +1,65 @@
+package bricker.gameobjects;
+
+import bricker.profiling.FramePhase;
+import bricker.profiling.FrameProfiler;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
+import danogl.gui.rendering.TextRenderable;
+import danogl.util.Vector2;
+
+import java.awt.Color;
+
+/**
+ * PerformanceOverlay is a GameObject that displays the frame-time percentiles of each FramePhase of a
+ * FrameProfiler, a line per phase, on top of the game. The text is only refreshed every few frames, so that
+ * the overlay itself barely shows up in the profile.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class PerformanceOverlay extends GameObject {
+    private static final int REFRESH_FRAMES = 30;
+    private final FrameProfiler profiler;
+    private final TextRenderable[] lines = new TextRenderable[FramePhase.values().length];
+    private int framesUntilRefresh = 0;
+
+    /**
+     * Constructs a PerformanceOverlay Object with the specified parameters.
+     * @param topLeftCorner        The top-left corner of the overlay in window coordinates.
+     * @param lineDimensions       The dimensions of a single line of the overlay.
+     * @param profiler             The profiler whose histograms are displayed.
+     * @param gameObjectCollection The collection of game objects to which the lines are added.
+     */
+    public PerformanceOverlay(Vector2 topLeftCorner, Vector2 lineDimensions, FrameProfiler profiler,
+                              GameObjectCollection gameObjectCollection) {
+        super(topLeftCorner, lineDimensions, null);
+        this.profiler = profiler;
+        for (FramePhase phase : FramePhase.values()) {
+            TextRenderable line = new TextRenderable(phase.name());
+            line.setColor(Color.white);
+            lines[phase.ordinal()] = line;
+            Vector2 lineTopLeftCorner =
+                    topLeftCorner.add(new Vector2(0, lineDimensions.y() * phase.ordinal()));
+            GameObject lineObject = new GameObject(lineTopLeftCorner, lineDimensions, line);
+            // the overlay stays in place when the camera follows the ball
+            lineObject.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+            gameObjectCollection.addGameObject(lineObject, Layer.UI);
+        }
+    }
+
+    /**
+     * Refreshes the displayed percentiles every few frames.
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (--framesUntilRefresh > 0) {
+            return;
+        }
+        framesUntilRefresh = REFRESH_FRAMES;
+        for (FramePhase phase : FramePhase.values()) {
+            lines[phase.ordinal()].setString(profiler.describe(phase));
+        }
+    }
+}
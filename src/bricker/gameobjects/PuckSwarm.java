@@ -0,0 +1,371 @@
+package bricker.gameobjects;
+
+import bricker.collisions.BrickIndex;
+import bricker.collisions.SweptAabb;
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import bricker.engine.PuckSpawner;
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.gui.Sound;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * PuckSwarm holds the extra pucks of the chaos mode, in which every puck spawned by a brick can spawn more,
+ * and thousands of pucks are in play at once. Instead of one Ball game object per puck, the position and
+ * velocity of all the pucks are kept in primitive arrays, and the whole swarm is a single game object that
+ * moves them, draws them and plays at most one collision sound per step.
+ * The pucks do not take part in the engine's collisions: they bounce off the borders and the paddles by
+ * their bounds, and are tested against the bricks through the brick index, one at a time, with a single
+ * reusable probe object standing in for the puck. Pucks never collide with each other or with the main
+ * ball, and do not count as hits on the extra paddle, which would otherwise be gone after the first volley.
+ * Pucks that fall below the window are dropped; when all the slots of the swarm are in play, no new puck
+ * is spawned.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class PuckSwarm extends GameObject implements PuckSpawner {
+    private static final int INITIAL_PADDLES = 2;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private int liveCount = 0;
+    private long spawnCount = 0;
+    private float fastestAxisSpeed = 0;
+
+    private final float puckSize;
+    private final Vector2 windowDimensions;
+    private final EntityRegistry entityRegistry;
+    private final Sound collisionSound;
+    private final SwarmProbe probe;
+    private int probedPuck = -1;
+    private float stepTime = 0;
+    private boolean bounced = false;
+    private float[] paddleBounds = new float[4 * INITIAL_PADDLES];
+    private int paddleCount = 0;
+
+    /**
+     * Constructs an empty PuckSwarm covering the window.
+     * @param windowDimensions The dimensions of the game window, which bound the play area.
+     * @param puckImage        The renderable of a single puck, or null if the swarm is not drawn.
+     * @param collisionSound   The sound played when pucks collide.
+     * @param entityRegistry   The registry of live entities, through which the paddles are found.
+     * @param capacity         The maximum number of pucks in play at once.
+     */
+    public PuckSwarm(Vector2 windowDimensions, Renderable puckImage, Sound collisionSound,
+                     EntityRegistry entityRegistry, int capacity) {
+        super(Vector2.ZERO, windowDimensions, null);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.puckSize = Constants.PUCK_RADIUS;
+        this.windowDimensions = windowDimensions;
+        this.entityRegistry = entityRegistry;
+        this.collisionSound = collisionSound;
+        this.probe = new SwarmProbe(new Vector2(puckSize, puckSize));
+        if (puckImage != null) {
+            renderer().setRenderable(new PuckSwarmRenderable(this, puckImage, Vector2.ZERO,
+                    windowDimensions));
+        }
+    }
+
+    /**
+     * Puts a puck in play, in the first free slot of the swarm.
+     * @param center   The center of the puck.
+     * @param velocity The initial velocity of the puck.
+     * @return True if the puck was put in play, false if all the slots are in play.
+     */
+    @Override
+    public boolean spawnPuck(Vector2 center, Vector2 velocity) {
+        if (liveCount == x.length) {
+            return false;
+        }
+        x[liveCount] = center.x() - puckSize / 2;
+        y[liveCount] = center.y() - puckSize / 2;
+        velocityX[liveCount] = velocity.x();
+        velocityY[liveCount] = velocity.y();
+        fastestAxisSpeed = Math.max(fastestAxisSpeed,
+                Math.max(Math.abs(velocity.x()), Math.abs(velocity.y())));
+        liveCount++;
+        spawnCount++;
+        return true;
+    }
+
+    /**
+     * Moves every puck, bounces it off the borders and the paddles, and drops the pucks that fell below
+     * the window.
+     * @param deltaTime The time elapsed, in seconds, since the last step.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        stepTime = deltaTime;
+        loadPaddleBounds();
+        float left = Constants.BORDER_SIZE;
+        float right = windowDimensions.x() - Constants.BORDER_SIZE - puckSize;
+        float top = Constants.BORDER_SIZE;
+        int puck = 0;
+        while (puck < liveCount) {
+            float puckX = x[puck] + velocityX[puck] * deltaTime;
+            float puckY = y[puck] + velocityY[puck] * deltaTime;
+            if (puckY > windowDimensions.y()) {
+                // move the last live puck into this slot, and move it in the same pass
+                removeAt(puck);
+                continue;
+            }
+            // a bounce mirrors the puck back out of the border by as far as it went in
+            if (puckX < left) {
+                puckX = 2 * left - puckX;
+                velocityX[puck] = Math.abs(velocityX[puck]);
+                bounced = true;
+            }
+            else if (puckX > right) {
+                puckX = 2 * right - puckX;
+                velocityX[puck] = -Math.abs(velocityX[puck]);
+                bounced = true;
+            }
+            if (puckY < top) {
+                puckY = 2 * top - puckY;
+                velocityY[puck] = Math.abs(velocityY[puck]);
+                bounced = true;
+            }
+            x[puck] = puckX;
+            y[puck] = puckY;
+            bounceOffPaddles(puck);
+            puck++;
+        }
+        playCollisionSound();
+    }
+
+    /**
+     * Tests every puck against the bricks, bouncing it off each brick it hit and destroying the brick. Pucks
+     * spawned by the destroyed bricks are first tested in the next step.
+     * @param brickIndex The spatial index of the bricks.
+     */
+    public void handleBrickCollisions(BrickIndex brickIndex) {
+        int count = liveCount;
+        for (int puck = 0; puck < count; puck++) {
+            probedPuck = puck;
+            probe.setTopLeftCorner(new Vector2(x[puck], y[puck]));
+            brickIndex.handleCollisions(probe);
+        }
+        probedPuck = -1;
+        playCollisionSound();
+    }
+
+    /**
+     * Never collides with other game objects through the engine; the pucks find their own collisions.
+     * @param other The other game object.
+     * @return False.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+
+    /**
+     * Removes every puck from play, such as when a new game starts.
+     */
+    public void clear() {
+        liveCount = 0;
+        fastestAxisSpeed = 0;
+    }
+
+    /**
+     * Gets the number of pucks currently in play.
+     * @return The number of live pucks.
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the maximum number of pucks in play at once.
+     * @return The swarm capacity.
+     */
+    public int getCapacity() {
+        return x.length;
+    }
+
+    /**
+     * Gets the number of pucks put in play so far.
+     * @return The number of spawned pucks.
+     */
+    public long getSpawnCount() {
+        return spawnCount;
+    }
+
+    /**
+     * Gets the largest speed along either axis of the pucks put in play since the swarm was last cleared.
+     * Bounces do not change the speed of a puck along an axis, only its direction.
+     * @return The fastest axis speed, or 0 if no puck was spawned.
+     */
+    public float getFastestAxisSpeed() {
+        return fastestAxisSpeed;
+    }
+
+    /**
+     * Gets the x coordinate of a live puck's top-left corner.
+     * @param puck The index of the puck, less than getLiveCount().
+     * @return The x coordinate of the puck's top-left corner.
+     */
+    public float getX(int puck) {
+        return x[puck];
+    }
+
+    /**
+     * Gets the y coordinate of a live puck's top-left corner.
+     * @param puck The index of the puck, less than getLiveCount().
+     * @return The y coordinate of the puck's top-left corner.
+     */
+    public float getY(int puck) {
+        return y[puck];
+    }
+
+    /**
+     * Gets the width and height of every puck.
+     * @return The size of a puck.
+     */
+    public float getPuckSize() {
+        return puckSize;
+    }
+
+    /*
+     * Copies the bounds of the live paddles, so that the pucks are not tested against the registry's sets.
+     */
+    private void loadPaddleBounds() {
+        paddleCount = 0;
+        loadPaddleBounds(EntityKind.MAIN_PADDLE);
+        loadPaddleBounds(EntityKind.EXTRA_PADDLE);
+    }
+
+    /*
+     * Copies the bounds of the live paddles of a kind, as left, top, right and bottom.
+     */
+    private void loadPaddleBounds(EntityKind kind) {
+        for (GameObject paddle : entityRegistry.entitiesOf(kind)) {
+            if (4 * paddleCount == paddleBounds.length) {
+                paddleBounds = Arrays.copyOf(paddleBounds, 2 * paddleBounds.length);
+            }
+            Vector2 topLeftCorner = paddle.getTopLeftCorner();
+            Vector2 dimensions = paddle.getDimensions();
+            paddleBounds[4 * paddleCount] = topLeftCorner.x();
+            paddleBounds[4 * paddleCount + 1] = topLeftCorner.y();
+            paddleBounds[4 * paddleCount + 2] = topLeftCorner.x() + dimensions.x();
+            paddleBounds[4 * paddleCount + 3] = topLeftCorner.y() + dimensions.y();
+            paddleCount++;
+        }
+    }
+
+    /*
+     * Bounces a puck off the paddles it overlaps: up if it came from above the paddle, and otherwise away
+     * from the side it hit.
+     */
+    private void bounceOffPaddles(int puck) {
+        for (int paddle = 0; paddle < paddleCount; paddle++) {
+            float left = paddleBounds[4 * paddle];
+            float top = paddleBounds[4 * paddle + 1];
+            float right = paddleBounds[4 * paddle + 2];
+            float bottom = paddleBounds[4 * paddle + 3];
+            float puckX = x[puck];
+            float puckY = y[puck];
+            if (puckX >= right || puckX + puckSize <= left || puckY >= bottom || puckY + puckSize <= top) {
+                continue;
+            }
+            float previousBottom = puckY + puckSize - velocityY[puck] * stepTime;
+            if (velocityY[puck] > 0 && previousBottom <= top) {
+                y[puck] = 2 * (top - puckSize) - puckY;
+                velocityY[puck] = -velocityY[puck];
+            }
+            else if (puckX + puckSize / 2 < (left + right) / 2) {
+                x[puck] = left - puckSize;
+                velocityX[puck] = -Math.abs(velocityX[puck]);
+            }
+            else {
+                x[puck] = right;
+                velocityX[puck] = Math.abs(velocityX[puck]);
+            }
+            bounced = true;
+        }
+    }
+
+    /*
+     * Bounces the probed puck off a brick it hit, through the face it entered the brick by, the same way a
+     * Ball does, and mirrors it back out of that face.
+     */
+    private void bounceOffBrick(GameObject brick, Collision collision) {
+        int puck = probedPuck;
+        Vector2 brickTopLeftCorner = brick.getTopLeftCorner();
+        Vector2 brickDimensions = brick.getDimensions();
+        Vector2 normal = SweptAabb.entryNormal(probe.getTopLeftCorner(), probe.getDimensions(),
+                new Vector2(velocityX[puck] * stepTime, velocityY[puck] * stepTime),
+                brickTopLeftCorner, brickDimensions);
+        boolean entered = normal != null;
+        if (!entered) {
+            // the puck was already overlapping the brick before its last step
+            normal = collision.getNormal();
+        }
+        if (normal.x() != 0) {
+            if (entered) {
+                float depth = normal.x() > 0 ?
+                        brickTopLeftCorner.x() + brickDimensions.x() - x[puck] :
+                        x[puck] + puckSize - brickTopLeftCorner.x();
+                x[puck] += 2 * normal.x() * Math.max(depth, 0);
+            }
+            velocityX[puck] = normal.x() > 0 ? Math.abs(velocityX[puck]) : -Math.abs(velocityX[puck]);
+        }
+        else {
+            if (entered) {
+                float depth = normal.y() > 0 ?
+                        brickTopLeftCorner.y() + brickDimensions.y() - y[puck] :
+                        y[puck] + puckSize - brickTopLeftCorner.y();
+                y[puck] += 2 * normal.y() * Math.max(depth, 0);
+            }
+            velocityY[puck] = normal.y() > 0 ? Math.abs(velocityY[puck]) : -Math.abs(velocityY[puck]);
+        }
+        bounced = true;
+    }
+
+    /*
+     * Removes a puck by moving the last live puck into its slot.
+     */
+    private void removeAt(int puck) {
+        liveCount--;
+        x[puck] = x[liveCount];
+        y[puck] = y[liveCount];
+        velocityX[puck] = velocityX[liveCount];
+        velocityY[puck] = velocityY[liveCount];
+    }
+
+    /*
+     * Plays the collision sound once if any puck bounced since it was last played.
+     */
+    private void playCollisionSound() {
+        if (bounced) {
+            bounced = false;
+            collisionSound.play();
+        }
+    }
+
+    /*
+     * The game object placed over a puck while it is tested against the bricks, which passes the bricks it
+     * hits on to the swarm.
+     */
+    private class SwarmProbe extends GameObject {
+        SwarmProbe(Vector2 dimensions) {
+            super(Vector2.ZERO, dimensions, null);
+        }
+
+        @Override
+        public void onCollisionEnter(GameObject other, Collision collision) {
+            super.onCollisionEnter(other, collision);
+            bounceOffBrick(other, collision);
+        }
+    }
+}
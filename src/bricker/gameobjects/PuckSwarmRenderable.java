@@ -0,0 +1,76 @@
+package bricker.gameobjects;
+
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * PuckSwarmRenderable draws every live puck of a PuckSwarm, so that the whole swarm is rendered by a single
+ * game object. Like BrickFieldRenderable, pucks are mapped from the area of the game world the swarm covers
+ * to wherever (and at whatever scale) the camera renders it.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class PuckSwarmRenderable implements Renderable {
+    private final PuckSwarm puckSwarm;
+    private final Renderable puckImage;
+    private final Vector2 worldTopLeftCorner;
+    private final Vector2 worldDimensions;
+
+    /**
+     * Constructs a PuckSwarmRenderable with the specified parameters.
+     * @param puckSwarm          The swarm whose live pucks are drawn.
+     * @param puckImage          The renderable representing a single puck.
+     * @param worldTopLeftCorner The top-left corner of the game object this renderable is drawn by, in
+     *                           window coordinates.
+     * @param worldDimensions    The dimensions of the game object this renderable is drawn by.
+     */
+    public PuckSwarmRenderable(PuckSwarm puckSwarm, Renderable puckImage, Vector2 worldTopLeftCorner,
+                               Vector2 worldDimensions) {
+        this.puckSwarm = puckSwarm;
+        this.puckImage = puckImage;
+        this.worldTopLeftCorner = worldTopLeftCorner;
+        this.worldDimensions = worldDimensions;
+    }
+
+    /**
+     * Draws the live pucks of the swarm. Pucks outside the clip area are skipped, and an image puck is
+     * drawn straight from its image, without allocating per puck.
+     * @param g                       The graphics to draw with.
+     * @param topLeftCorner           The top-left corner of the game object on the screen.
+     * @param dimensions              The dimensions of the game object on the screen.
+     * @param degreesCounterClockwise Ignored, the pucks are never rotated.
+     * @param isFlippedHorizontally   Ignored, the pucks are never flipped.
+     * @param isFlippedVertically     Ignored, the pucks are never flipped.
+     * @param opacity                 Ignored, the pucks are opaque.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opacity) {
+        float scaleX = dimensions.x() / worldDimensions.x();
+        float scaleY = dimensions.y() / worldDimensions.y();
+        int screenWidth = Math.round(puckSwarm.getPuckSize() * scaleX);
+        int screenHeight = Math.round(puckSwarm.getPuckSize() * scaleY);
+        Rectangle clip = g.getClipBounds();
+        BufferedImage image = puckImage instanceof ImageRenderable ?
+                ((ImageRenderable) puckImage).getImage() : null;
+        for (int puck = 0; puck < puckSwarm.getLiveCount(); puck++) {
+            int screenX = Math.round(topLeftCorner.x() +
+                    (puckSwarm.getX(puck) - worldTopLeftCorner.x()) * scaleX);
+            int screenY = Math.round(topLeftCorner.y() +
+                    (puckSwarm.getY(puck) - worldTopLeftCorner.y()) * scaleY);
+            if (clip != null && !clip.intersects(screenX, screenY, screenWidth, screenHeight)) {
+                continue;
+            }
+            if (image != null) {
+                g.drawImage(image, screenX, screenY, screenWidth, screenHeight, null);
+            }
+            else {
+                puckImage.render(g, new Vector2(screenX, screenY), new Vector2(screenWidth, screenHeight));
+            }
+        }
+    }
+}
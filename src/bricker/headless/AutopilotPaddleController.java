@@ -0,0 +1,93 @@
+package bricker.headless;
+
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.PaddleController;
+import bricker.main.Constants;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * AutopilotPaddleController moves a paddle to where the main ball will land, without a human and without
+ * stepping the ball forward frame by frame. The landing point is predicted in constant time from the
+ * ball's position and velocity: a ball moving up is sent back down by the upper border, and its path
+ * between the side borders is unfolded into a straight line, whose end is folded back into the window
+ * by reflection. Bricks are ignored, since a brick only sends the ball down sooner; the prediction is
+ * made again in every update, so it is corrected as soon as the ball's velocity changes.
+ * The paddle is steered at full speed towards the predicted point, and slowed down on its last step so
+ * that it stops there rather than overshooting it.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class AutopilotPaddleController implements PaddleController {
+    private final EntityRegistry entityRegistry;
+    private final Vector2 windowDimensions;
+
+    /**
+     * Constructs an AutopilotPaddleController.
+     * @param entityRegistry   The registry of live entities, through which the main ball is found.
+     * @param windowDimensions The dimensions of the game window, whose borders reflect the ball.
+     */
+    public AutopilotPaddleController(EntityRegistry entityRegistry, Vector2 windowDimensions) {
+        this.entityRegistry = entityRegistry;
+        this.windowDimensions = windowDimensions;
+    }
+
+    /**
+     * Steers the paddle towards the point where the main ball will reach the paddle's top.
+     * @param paddle    The paddle being moved.
+     * @param deltaTime The time elapsed, in seconds, since the last update.
+     * @return The direction towards the predicted landing point, or 0 if there is no ball or the paddle
+     *         is already there.
+     */
+    @Override
+    public float steer(Paddle paddle, float deltaTime) {
+        GameObject ball = entityRegistry.first(EntityKind.MAIN_BALL);
+        if (ball == null || deltaTime <= 0) {
+            return 0;
+        }
+        float distance = predictLandingX(ball, paddle.getTopLeftCorner().y()) - paddle.getCenter().x();
+        float fullStep = Constants.PADDLE_SPEED * deltaTime;
+        return Math.max(-1, Math.min(1, distance / fullStep));
+    }
+
+    /**
+     * Predicts the x coordinate of the ball's center when its bottom reaches the specified height.
+     * @param ball    The ball.
+     * @param targetY The height of the paddle's top.
+     * @return The predicted x coordinate, or the ball's current one if it is not moving vertically.
+     */
+    public float predictLandingX(GameObject ball, float targetY) {
+        Vector2 center = ball.getCenter();
+        Vector2 dimensions = ball.getDimensions();
+        Vector2 velocity = ball.getVelocity();
+        if (velocity.y() == 0) {
+            return center.x();
+        }
+        float landingY = targetY - dimensions.y() / 2;
+        float ceilingY = Constants.BORDER_SIZE + dimensions.y() / 2;
+        // the vertical distance travelled: straight down, or up to the upper border and back down
+        float verticalDistance = velocity.y() > 0 ?
+                landingY - center.y() :
+                (center.y() - ceilingY) + (landingY - ceilingY);
+        float time = Math.max(verticalDistance, 0) / Math.abs(velocity.y());
+        float left = Constants.BORDER_SIZE + dimensions.x() / 2;
+        float right = windowDimensions.x() - Constants.BORDER_SIZE - dimensions.x() / 2;
+        return reflect(center.x() + velocity.x() * time, left, right);
+    }
+
+    /*
+     * Folds an unfolded x coordinate back into the range between two reflecting walls.
+     */
+    private static float reflect(float x, float left, float right) {
+        float width = right - left;
+        if (width <= 0) {
+            return left;
+        }
+        float offset = (x - left) % (2 * width);
+        if (offset < 0) {
+            offset += 2 * width;
+        }
+        return left + (offset > width ? 2 * width - offset : offset);
+    }
+}
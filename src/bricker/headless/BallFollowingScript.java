@@ -0,0 +1,44 @@
+package bricker.headless;
+
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import danogl.GameObject;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * BallFollowingScript is a scripted player that keeps the main paddle under the main ball, moving it
+ * whenever the ball's center drifts out of a dead zone around the paddle's center.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class BallFollowingScript implements InputScript {
+    private final float deadZone;
+
+    /**
+     * Constructs a BallFollowingScript.
+     * @param deadZone The horizontal distance between the centers of the ball and the paddle within which the
+     *                 paddle is not moved.
+     */
+    public BallFollowingScript(float deadZone) {
+        this.deadZone = deadZone;
+    }
+
+    /**
+     * Presses the arrow key that moves the paddle towards the ball, if the ball is out of the dead zone.
+     * @param simulation The simulation that is about to simulate a frame.
+     */
+    @Override
+    public void beforeFrame(HeadlessSimulation simulation) {
+        EntityRegistry entityRegistry = simulation.getGameManager().getEntityRegistry();
+        GameObject ball = entityRegistry.first(EntityKind.MAIN_BALL);
+        GameObject paddle = entityRegistry.first(EntityKind.MAIN_PADDLE);
+        HeadlessUserInputListener inputListener = simulation.getInputListener();
+        if (ball == null || paddle == null) {
+            inputListener.releaseAllKeys();
+            return;
+        }
+        float distance = ball.getCenter().x() - paddle.getCenter().x();
+        inputListener.setKeyPressed(KeyEvent.VK_LEFT, distance < -deadZone);
+        inputListener.setKeyPressed(KeyEvent.VK_RIGHT, distance > deadZone);
+    }
+}
@@ -0,0 +1,81 @@
+package bricker.headless;
+
+/**
+ * GameOutcome holds the summary of a single simulated game: its result, how long it took,
+ * and the state of the counters when it stopped.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameOutcome {
+    private final GameResult result;
+    private final int frames;
+    private final float simulatedSeconds;
+    private final int remainingBricks;
+    private final int remainingLives;
+
+    /**
+     * Constructs a GameOutcome with the specified parameters.
+     * @param result           The result of the game.
+     * @param frames           The number of frames that were simulated.
+     * @param simulatedSeconds The amount of game time that was simulated, in seconds.
+     * @param remainingBricks  The number of bricks left when the game stopped.
+     * @param remainingLives   The number of lives left when the game stopped.
+     */
+    public GameOutcome(GameResult result, int frames, float simulatedSeconds, int remainingBricks,
+                       int remainingLives) {
+        this.result = result;
+        this.frames = frames;
+        this.simulatedSeconds = simulatedSeconds;
+        this.remainingBricks = remainingBricks;
+        this.remainingLives = remainingLives;
+    }
+
+    /**
+     * Gets the result of the game.
+     * @return The result of the game.
+     */
+    public GameResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the number of frames that were simulated.
+     * @return The number of simulated frames.
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the amount of game time that was simulated.
+     * @return The simulated time, in seconds.
+     */
+    public float getSimulatedSeconds() {
+        return simulatedSeconds;
+    }
+
+    /**
+     * Gets the number of bricks left when the game stopped.
+     * @return The number of remaining bricks.
+     */
+    public int getRemainingBricks() {
+        return remainingBricks;
+    }
+
+    /**
+     * Gets the number of lives left when the game stopped.
+     * @return The number of remaining lives.
+     */
+    public int getRemainingLives() {
+        return remainingLives;
+    }
+
+    /**
+     * Returns a short, human readable description of this outcome.
+     * @return The description of this outcome.
+     */
+    @Override
+    public String toString() {
+        return result + " after " + frames + " frames (" + simulatedSeconds + "s), bricks left: " +
+                remainingBricks + ", lives left: " + remainingLives;
+    }
+}
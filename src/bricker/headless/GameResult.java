@@ -0,0 +1,14 @@
+package bricker.headless;
+
+/**
+ * GameResult is an enumeration of the possible results of a simulated game.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public enum GameResult {
+    /** All bricks were destroyed (or the win key was pressed). */
+    WON,
+    /** The player ran out of lives. */
+    LOST,
+    /** The simulation stopped before the game ended. */
+    UNFINISHED
+}
@@ -0,0 +1,47 @@
+package bricker.headless;
+
+import danogl.gui.ImageReader;
+import danogl.gui.MessageHandler;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.util.Vector2;
+
+/**
+ * HeadlessImageReader is an ImageReader that never decodes an image.
+ * Every request returns null, which game objects treat as "not rendered".
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class HeadlessImageReader extends ImageReader {
+
+    /**
+     * Constructs a HeadlessImageReader.
+     * @param messageHandler The message handler of the headless window controller.
+     */
+    public HeadlessImageReader(MessageHandler messageHandler) {
+        super(messageHandler);
+    }
+
+    /**
+     * Skips decoding the image.
+     * @param imageFilePath     The path of the image.
+     * @param useImageAsMask    Whether the image should be used as a mask.
+     * @param topLeftCorner     The top-left corner of the cropped area.
+     * @param dimensions        The dimensions of the cropped area.
+     * @return Always null.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useImageAsMask,
+                                     Vector2 topLeftCorner, Vector2 dimensions) {
+        return null;
+    }
+
+    /**
+     * Skips decoding the image.
+     * @param imageFilePath  The path of the image.
+     * @param useImageAsMask Whether the image should be used as a mask.
+     * @return Always null.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useImageAsMask) {
+        return null;
+    }
+}
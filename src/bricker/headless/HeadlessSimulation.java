@@ -0,0 +1,249 @@
+package bricker.headless;
+
+import bricker.engine.AssetCache;
+import bricker.main.BrickerGameManager;
+import bricker.main.Constants;
+import bricker.main.GameSettings;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HeadlessSimulation drives a BrickerGameManager without a window: it initializes the game with
+ * headless readers, controller and input, then advances it with a fixed timestep until the game
+ * ends or a frame limit is reached. No images are decoded and no sounds are opened.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class HeadlessSimulation {
+    /** The default timestep, in seconds, of a simulated frame. */
+    public static final float DEFAULT_DELTA_TIME = 1f / 60;
+
+    private final BrickerGameManager gameManager;
+    private final HeadlessWindowController windowController;
+    private final HeadlessUserInputListener inputListener;
+    private int frames = 0;
+    private float simulatedSeconds = 0;
+
+    /**
+     * Constructs a HeadlessSimulation of a game with the default window dimensions.
+     * @param bricksPerRow The number of bricks per row in the game.
+     * @param brickRows    The number of rows of bricks in the game.
+     */
+    public HeadlessSimulation(int bricksPerRow, int brickRows) {
+        this(bricksPerRow, brickRows, GameSettings.defaults());
+    }
+
+    /**
+     * Constructs a HeadlessSimulation of a game with the default window dimensions and custom settings.
+     * @param bricksPerRow The number of bricks per row in the game.
+     * @param brickRows    The number of rows of bricks in the game.
+     * @param settings     The tunable values of the game, and the seed of its random choices.
+     */
+    public HeadlessSimulation(int bricksPerRow, int brickRows, GameSettings settings) {
+        this(bricksPerRow, brickRows, settings,
+                new Vector2(Constants.DEFAULT_WINDOW_WIDTH, Constants.DEFAULT_WINDOW_HEIGHT));
+    }
+
+    /**
+     * Constructs a HeadlessSimulation of a game with custom settings and window dimensions.
+     * @param bricksPerRow     The number of bricks per row in the game.
+     * @param brickRows        The number of rows of bricks in the game.
+     * @param settings         The tunable values of the game, and the seed of its random choices.
+     * @param windowDimensions The dimensions of the (invisible) game window.
+     */
+    public HeadlessSimulation(int bricksPerRow, int brickRows, GameSettings settings,
+                              Vector2 windowDimensions) {
+        this(bricksPerRow, brickRows, settings, windowDimensions, null);
+    }
+
+    /**
+     * Constructs a HeadlessSimulation of a game that takes its assets from a cache shared with other games.
+     * @param bricksPerRow     The number of bricks per row in the game.
+     * @param brickRows        The number of rows of bricks in the game.
+     * @param settings         The tunable values of the game, and the seed of its random choices.
+     * @param windowDimensions The dimensions of the (invisible) game window.
+     * @param sharedAssetCache A frozen AssetCache shared with other games, or null for the game to preload
+     *                         its own.
+     */
+    public HeadlessSimulation(int bricksPerRow, int brickRows, GameSettings settings,
+                              Vector2 windowDimensions, AssetCache sharedAssetCache) {
+        this.windowController = new HeadlessWindowController(windowDimensions);
+        this.inputListener = new HeadlessUserInputListener();
+        this.gameManager = new BrickerGameManager(Constants.WINDOWS_TITLE, windowDimensions,
+                bricksPerRow, brickRows, true, settings);
+        if (sharedAssetCache != null) {
+            gameManager.useSharedAssetCache(sharedAssetCache);
+        }
+        initializeGame();
+    }
+
+    /**
+     * Constructs a HeadlessSimulation of a game played on a designed level instead of a generated board.
+     * @param levelFile        A level file, as written by bricker.level.LevelConverter.
+     * @param bricksPerRow     The number of bricks per row the game was given besides the level.
+     * @param brickRows        The number of rows of bricks the game was given besides the level.
+     * @param settings         The tunable values of the game, and the seed of its random choices.
+     * @param windowDimensions The dimensions of the (invisible) game window.
+     * @throws IOException If the level cannot be read.
+     */
+    public HeadlessSimulation(Path levelFile, int bricksPerRow, int brickRows, GameSettings settings,
+                              Vector2 windowDimensions) throws IOException {
+        this.windowController = new HeadlessWindowController(windowDimensions);
+        this.inputListener = new HeadlessUserInputListener();
+        this.gameManager = new BrickerGameManager(Constants.WINDOWS_TITLE, windowDimensions,
+                bricksPerRow, brickRows, true, settings);
+        gameManager.setLevel(levelFile);
+        initializeGame();
+    }
+
+    /**
+     * Advances the game by a single frame.
+     * @param deltaTime The timestep of the frame, in seconds.
+     * @return True if the game is still running after this frame, false if it ended.
+     */
+    public boolean step(float deltaTime) {
+        if (windowController.isClosed()) {
+            return false;
+        }
+        gameManager.update(deltaTime);
+        inputListener.endFrame();
+        frames++;
+        simulatedSeconds += deltaTime;
+        return !windowController.isClosed();
+    }
+
+    /**
+     * Runs the game until it ends or the frame limit is reached.
+     * @param deltaTime The timestep of each frame, in seconds.
+     * @param maxFrames The maximum number of frames to simulate.
+     * @return The outcome of the game.
+     */
+    public GameOutcome run(float deltaTime, int maxFrames) {
+        while (frames < maxFrames && step(deltaTime)) {
+            // keep stepping until the game ends or the frame budget is exhausted
+        }
+        return outcome();
+    }
+
+    /**
+     * Runs the game until it ends or the frame limit is reached, with a script driving its input.
+     * @param deltaTime The timestep of each frame, in seconds.
+     * @param maxFrames The maximum number of frames to simulate.
+     * @param script    The script that presses keys before each frame.
+     * @return The outcome of the game.
+     */
+    public GameOutcome run(float deltaTime, int maxFrames, InputScript script) {
+        while (frames < maxFrames && !windowController.isClosed()) {
+            script.beforeFrame(this);
+            step(deltaTime);
+        }
+        return outcome();
+    }
+
+    /**
+     * Summarizes the current state of the game.
+     * @return The outcome of the game so far.
+     */
+    public GameOutcome outcome() {
+        GameResult result = GameResult.UNFINISHED;
+        String message = windowController.getLastDialogMessage();
+        if (Constants.WIN_POPUP_MESSAGE.equals(message)) {
+            result = GameResult.WON;
+        } else if (Constants.LOST_POPUP_MESSAGE.equals(message)) {
+            result = GameResult.LOST;
+        }
+        return new GameOutcome(result, frames, simulatedSeconds, gameManager.getRemainingBricks(),
+                gameManager.getRemainingLives());
+    }
+
+    /**
+     * Gets the game manager driven by this simulation.
+     * @return The game manager.
+     */
+    public BrickerGameManager getGameManager() {
+        return gameManager;
+    }
+
+    /**
+     * Hands the main paddle over to an AutopilotPaddleController, which moves it to where the ball will land
+     * instead of reading the input listener.
+     */
+    public void enableAutopilot() {
+        gameManager.setPaddleController(new AutopilotPaddleController(gameManager.getEntityRegistry(),
+                windowController.getWindowDimensions()));
+    }
+
+    /**
+     * Gets the input listener of the game, so that a driver can press keys between frames.
+     * @return The headless input listener.
+     */
+    public HeadlessUserInputListener getInputListener() {
+        return inputListener;
+    }
+
+    /**
+     * Gets the number of frames simulated so far.
+     * @return The number of simulated frames.
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /*
+     * Initializes the game with the headless readers, input and window controller.
+     */
+    private void initializeGame() {
+        gameManager.initializeGame(new HeadlessImageReader(windowController.messages()),
+                new HeadlessSoundReader(windowController.messages()), inputListener, windowController);
+    }
+
+    /**
+     * Runs a batch of headless games and prints their outcomes and throughput, including how many times
+     * faster than real time the games were simulated.
+     * @param args Command-line arguments (optional): [games, bricksPerRow, brickRows, maxFrames]
+     *             [--autopilot]. With --autopilot, the paddle of every game is moved by an
+     *             AutopilotPaddleController; otherwise it stays in place.
+     */
+    public static void main(String[] args) {
+        boolean autopilot = false;
+        List<String> positionalArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--autopilot")) {
+                autopilot = true;
+            }
+            else {
+                positionalArgs.add(arg);
+            }
+        }
+        int games = positionalArgs.size() > 0 ? Integer.parseInt(positionalArgs.get(0)) : 100;
+        int bricksPerRow = positionalArgs.size() > 2 ?
+                Integer.parseInt(positionalArgs.get(1)) : Constants.DEFAULT_BRICKS_PER_ROW;
+        int brickRows = positionalArgs.size() > 2 ?
+                Integer.parseInt(positionalArgs.get(2)) : Constants.DEFAULT_BRICK_ROWS;
+        int maxFrames = positionalArgs.size() > 3 ? Integer.parseInt(positionalArgs.get(3)) : 60 * 60 * 10;
+
+        long start = System.nanoTime();
+        long totalFrames = 0;
+        int wins = 0;
+        double simulatedSeconds = 0;
+        for (int i = 0; i < games; i++) {
+            HeadlessSimulation simulation = new HeadlessSimulation(bricksPerRow, brickRows);
+            if (autopilot) {
+                simulation.enableAutopilot();
+            }
+            GameOutcome outcome = simulation.run(DEFAULT_DELTA_TIME, maxFrames);
+            totalFrames += outcome.getFrames();
+            simulatedSeconds += outcome.getSimulatedSeconds();
+            if (outcome.getResult() == GameResult.WON) {
+                wins++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d wins, %d frames in %.2fs " +
+                        "(%.0f games/s, %.0f frames/s, %.0fx real time)%n", games, wins, totalFrames, seconds,
+                games / seconds, totalFrames / seconds, simulatedSeconds / seconds);
+    }
+}
@@ -0,0 +1,31 @@
+package bricker.headless;
+
+import danogl.gui.MessageHandler;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+
+/**
+ * HeadlessSoundReader is a SoundReader that never opens an audio clip.
+ * Every request returns the silent Sound.EMPTY_SOUND.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class HeadlessSoundReader extends SoundReader {
+
+    /**
+     * Constructs a HeadlessSoundReader.
+     * @param messageHandler The message handler of the headless window controller.
+     */
+    public HeadlessSoundReader(MessageHandler messageHandler) {
+        super(messageHandler);
+    }
+
+    /**
+     * Skips loading the sound.
+     * @param soundFilePath The path of the sound.
+     * @return The silent sound.
+     */
+    @Override
+    public Sound readSound(String soundFilePath) {
+        return Sound.EMPTY_SOUND;
+    }
+}
@@ -0,0 +1,177 @@
+package bricker.headless;
+
+import danogl.components.movement_schemes.movement_directing.KeyboardMovementDirector;
+import danogl.components.movement_schemes.movement_directing.MouseMovementDirector;
+import danogl.gui.UserInputListener;
+import danogl.gui.mouse.MouseButton;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * HeadlessUserInputListener is a UserInputListener whose pressed keys are set programmatically,
+ * so that a scripted driver (or a replay) can play the game without a keyboard.
+ * The mouse is never reported as used.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class HeadlessUserInputListener implements UserInputListener {
+    private final Set<Integer> pressedKeys = new HashSet<>();
+    private final Set<Integer> previousPressedKeys = new HashSet<>();
+
+    /**
+     * Presses or releases the specified key.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @param pressed True to press the key, false to release it.
+     */
+    public void setKeyPressed(int keyCode, boolean pressed) {
+        if (pressed) {
+            pressedKeys.add(keyCode);
+        } else {
+            pressedKeys.remove(keyCode);
+        }
+    }
+
+    /**
+     * Releases all keys.
+     */
+    public void releaseAllKeys() {
+        pressedKeys.clear();
+    }
+
+    /**
+     * Should be called once per frame, after the frame was simulated, so that the
+     * "this frame" queries compare against the keys pressed in the previous frame.
+     */
+    public void endFrame() {
+        previousPressedKeys.clear();
+        previousPressedKeys.addAll(pressedKeys);
+    }
+
+    /**
+     * Checks whether the specified key is currently pressed.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @return True if the key is pressed.
+     */
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        return pressedKeys.contains(keyCode);
+    }
+
+    /**
+     * Checks whether the specified key was pressed in the current frame.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @return True if the key is pressed now but was not pressed in the previous frame.
+     */
+    @Override
+    public boolean wasKeyPressedThisFrame(int keyCode) {
+        return pressedKeys.contains(keyCode) && !previousPressedKeys.contains(keyCode);
+    }
+
+    /**
+     * Checks whether the specified key was released in the current frame.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @return True if the key was pressed in the previous frame but is not pressed now.
+     */
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyCode) {
+        return !pressedKeys.contains(keyCode) && previousPressedKeys.contains(keyCode);
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @param button The mouse button.
+     * @return Always false.
+     */
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @param button The mouse button.
+     * @return Always false.
+     */
+    @Override
+    public boolean wasMouseButtonPressedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @param button The mouse button.
+     * @return Always false.
+     */
+    @Override
+    public boolean wasMouseButtonReleasedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @param button The mouse button.
+     * @return Always false.
+     */
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return false;
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @return Always zero.
+     */
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return Vector2.ZERO;
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @return Always zero.
+     */
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return 0;
+    }
+
+    /**
+     * Gets the currently pressed keys.
+     * @return An unmodifiable view of the pressed keys.
+     */
+    @Override
+    public Set<Integer> pressedKeys() {
+        return Collections.unmodifiableSet(pressedKeys);
+    }
+
+    /**
+     * There is no mouse in headless mode.
+     * @return An empty set.
+     */
+    @Override
+    public Set<MouseButton> pressedMouseButtons() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Movement directors are not supported in headless mode.
+     * @param camera The camera.
+     * @return Always null.
+     */
+    @Override
+    public MouseMovementDirector mouseMovementDirector(Camera camera) {
+        return null;
+    }
+
+    /**
+     * Movement directors are not supported in headless mode.
+     * @return Always null.
+     */
+    @Override
+    public KeyboardMovementDirector keyboardMovementDirector() {
+        return null;
+    }
+}
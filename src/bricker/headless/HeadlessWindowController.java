@@ -0,0 +1,160 @@
+package bricker.headless;
+
+import danogl.gui.MessageHandler;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * HeadlessWindowController is a WindowController that is not backed by any window.
+ * It reports fixed window dimensions, never blocks on dialogs, and records the end-of-game
+ * message and the close request so that a headless simulation can stop and report an outcome.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class HeadlessWindowController implements WindowController {
+    private final Vector2 windowDimensions;
+    private final MessageHandler messageHandler;
+    private String lastDialogMessage;
+    private boolean closed = false;
+    private float timeScale = 1;
+
+    /**
+     * Constructs a HeadlessWindowController with the specified dimensions.
+     * @param windowDimensions The dimensions reported for the (virtual) game window.
+     */
+    public HeadlessWindowController(Vector2 windowDimensions) {
+        this.windowDimensions = windowDimensions;
+        this.messageHandler = new MessageHandler(this);
+    }
+
+    /**
+     * Marks the simulation as closed.
+     */
+    @Override
+    public void closeWindow() {
+        closed = true;
+    }
+
+    /**
+     * Headless sessions play a single game, so a reset request also ends the simulation.
+     */
+    @Override
+    public void resetGame() {
+        closed = true;
+    }
+
+    /**
+     * Gets the message handler associated with this controller.
+     * @return The message handler.
+     */
+    @Override
+    public MessageHandler messages() {
+        return messageHandler;
+    }
+
+    /**
+     * Records the dialog message and answers "no", so that the game ends instead of restarting.
+     * @param msg The message that would have been displayed.
+     * @return Always false.
+     */
+    @Override
+    public boolean openYesNoDialog(String msg) {
+        lastDialogMessage = msg;
+        return false;
+    }
+
+    /**
+     * Gets the time scale of the simulation.
+     * @return The time scale.
+     */
+    @Override
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Sets the time scale of the simulation.
+     * @param timeScale The new time scale.
+     */
+    @Override
+    public void setTimeScale(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    /**
+     * Gets the dimensions of the virtual window.
+     * @return The window dimensions.
+     */
+    @Override
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * Ignored, a headless simulation runs as fast as it can.
+     * @param rate The requested frame rate.
+     */
+    @Override
+    public void setTargetFramerate(int rate) {
+    }
+
+    /**
+     * Ignored, there is no keyboard to pause from.
+     * @param key The requested pause key.
+     */
+    @Override
+    public void setPauseButton(int key) {
+    }
+
+    /**
+     * Ignored, there is no keyboard to exit from.
+     * @param key The requested exit key.
+     */
+    @Override
+    public void setExitButton(int key) {
+    }
+
+    /**
+     * Ignored, there is no mouse cursor.
+     * @param renderable      The cursor renderable.
+     * @param dimensions      The cursor dimensions.
+     * @param offsetFromPivot The cursor's offset from its pivot.
+     */
+    @Override
+    public void setMouseCursor(Renderable renderable, Vector2 dimensions, Vector2 offsetFromPivot) {
+    }
+
+    /**
+     * Gets the mouse cursor renderable.
+     * @return Always null.
+     */
+    @Override
+    public Renderable getMouseCursor() {
+        return null;
+    }
+
+    /**
+     * Gets the mouse cursor dimensions.
+     * @return Always zero.
+     */
+    @Override
+    public Vector2 getMouseCursorDimensions() {
+        return Vector2.ZERO;
+    }
+
+    /**
+     * Gets the message of the last end-of-game dialog that was requested.
+     * @return The last dialog message, or null if the game has not ended.
+     */
+    public String getLastDialogMessage() {
+        return lastDialogMessage;
+    }
+
+    /**
+     * Checks whether the game asked to close or reset the window.
+     * @return True if the simulation should stop.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,14 @@
+package bricker.headless;
+
+/**
+ * InputScript drives the input of a headless game: before each frame, it may press and release keys
+ * through the simulation's HeadlessUserInputListener.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public interface InputScript {
+    /**
+     * Called before each simulated frame.
+     * @param simulation The simulation that is about to simulate a frame.
+     */
+    void beforeFrame(HeadlessSimulation simulation);
+}
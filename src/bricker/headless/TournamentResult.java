@@ -0,0 +1,179 @@
+package bricker.headless;
+
+import bricker.brick_strategies.StrategyTriggerCounts;
+import bricker.brick_strategies.StrategyType;
+
+/**
+ * TournamentResult aggregates the outcomes of the games of a tournament: how many were won, lost or left
+ * unfinished, how long they took, and how many times each collision strategy was triggered.
+ * Each fork-join task of a TournamentRunner fills its own result, and results are merged when the tasks
+ * join, so a result is never shared between threads while it is being filled.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class TournamentResult {
+    private int games = 0;
+    private int wins = 0;
+    private int losses = 0;
+    private long totalFrames = 0;
+    private double totalSquaredFrames = 0;
+    private int minFrames = Integer.MAX_VALUE;
+    private int maxFrames = 0;
+    private long totalRemainingBricks = 0;
+    private final StrategyTriggerCounts triggerCounts = new StrategyTriggerCounts();
+
+    /**
+     * Adds the outcome of a single game to this result.
+     * @param outcome       The outcome of the game.
+     * @param gameTriggers  The number of times each collision strategy was triggered in the game.
+     */
+    public void add(GameOutcome outcome, StrategyTriggerCounts gameTriggers) {
+        games++;
+        if (outcome.getResult() == GameResult.WON) {
+            wins++;
+        } else if (outcome.getResult() == GameResult.LOST) {
+            losses++;
+        }
+        int frames = outcome.getFrames();
+        totalFrames += frames;
+        totalSquaredFrames += (double) frames * frames;
+        minFrames = Math.min(minFrames, frames);
+        maxFrames = Math.max(maxFrames, frames);
+        totalRemainingBricks += outcome.getRemainingBricks();
+        triggerCounts.addAll(gameTriggers);
+    }
+
+    /**
+     * Adds all the games of another result to this result.
+     * @param other The result to merge into this one.
+     */
+    public void merge(TournamentResult other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        totalFrames += other.totalFrames;
+        totalSquaredFrames += other.totalSquaredFrames;
+        minFrames = Math.min(minFrames, other.minFrames);
+        maxFrames = Math.max(maxFrames, other.maxFrames);
+        totalRemainingBricks += other.totalRemainingBricks;
+        triggerCounts.addAll(other.triggerCounts);
+    }
+
+    /**
+     * Gets the number of games played.
+     * @return The number of games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won.
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets the number of games lost.
+     * @return The number of losses.
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Gets the number of games that reached the frame limit before ending.
+     * @return The number of unfinished games.
+     */
+    public int getUnfinished() {
+        return games - wins - losses;
+    }
+
+    /**
+     * Gets the fraction of the games that were won.
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Gets the total number of frames simulated over all the games.
+     * @return The total number of frames.
+     */
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /**
+     * Gets the mean length of a game.
+     * @return The mean number of frames per game.
+     */
+    public double getMeanFrames() {
+        return games == 0 ? 0 : (double) totalFrames / games;
+    }
+
+    /**
+     * Gets the standard deviation of the length of a game.
+     * @return The standard deviation of the number of frames per game.
+     */
+    public double getFramesStandardDeviation() {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMeanFrames();
+        return Math.sqrt(Math.max(0, totalSquaredFrames / games - mean * mean));
+    }
+
+    /**
+     * Gets the length of the shortest game.
+     * @return The minimal number of frames of a game, or 0 if no game was played.
+     */
+    public int getMinFrames() {
+        return games == 0 ? 0 : minFrames;
+    }
+
+    /**
+     * Gets the length of the longest game.
+     * @return The maximal number of frames of a game.
+     */
+    public int getMaxFrames() {
+        return maxFrames;
+    }
+
+    /**
+     * Gets the mean number of bricks left when a game ended.
+     * @return The mean number of remaining bricks.
+     */
+    public double getMeanRemainingBricks() {
+        return games == 0 ? 0 : (double) totalRemainingBricks / games;
+    }
+
+    /**
+     * Gets the number of times each collision strategy was triggered over all the games.
+     * @return The strategy trigger counts.
+     */
+    public StrategyTriggerCounts getTriggerCounts() {
+        return triggerCounts;
+    }
+
+    /**
+     * Returns a human readable report of this result.
+     * @return The report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games: %d, won: %d, lost: %d, unfinished: %d, win rate: %.3f%n",
+                games, wins, losses, getUnfinished(), getWinRate()));
+        report.append(String.format("frames per game: mean %.1f, std %.1f, min %d, max %d%n",
+                getMeanFrames(), getFramesStandardDeviation(), getMinFrames(), maxFrames));
+        report.append(String.format("bricks left per game: mean %.2f%n", getMeanRemainingBricks()));
+        report.append("strategy triggers:");
+        for (StrategyType strategyType : StrategyType.values()) {
+            report.append(' ').append(strategyType).append('=').append(triggerCounts.count(strategyType));
+        }
+        return report.toString();
+    }
+}
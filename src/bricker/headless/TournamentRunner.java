@@ -0,0 +1,181 @@
+package bricker.headless;
+
+import bricker.brick_strategies.StrategyType;
+import bricker.brick_strategies.StrategyWeights;
+import bricker.main.Constants;
+import bricker.main.GameSettings;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * TournamentRunner plays many independent headless games in parallel on a fork-join pool, to tune the
+ * game's settings (the strategy probabilities, the ball speed, the paddle width) without playing by hand.
+ * Every game has its own seed, derived from the tournament's first seed and the game's number, and is
+ * played by a BallFollowingScript, so any single game of a tournament can be replayed on its own.
+ * Games share no mutable state, so the tournament scales with the number of cores.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class TournamentRunner {
+    /** The number of games below which a task plays its games instead of splitting them. */
+    private static final int GAMES_PER_TASK = 2;
+
+    private final GameSettings settings;
+    private final int bricksPerRow;
+    private final int brickRows;
+    private final int maxFrames;
+    private final float deltaTime;
+
+    /**
+     * Constructs a TournamentRunner with the specified parameters.
+     * @param settings     The settings of every game. Their seed, if any, is replaced by each game's seed.
+     * @param bricksPerRow The number of bricks per row in each game.
+     * @param brickRows    The number of rows of bricks in each game.
+     * @param maxFrames    The maximum number of frames of a game, after which it counts as unfinished.
+     * @param deltaTime    The timestep of each frame, in seconds.
+     */
+    public TournamentRunner(GameSettings settings, int bricksPerRow, int brickRows, int maxFrames,
+                            float deltaTime) {
+        this.settings = settings;
+        this.bricksPerRow = bricksPerRow;
+        this.brickRows = brickRows;
+        this.maxFrames = maxFrames;
+        this.deltaTime = deltaTime;
+    }
+
+    /**
+     * Plays a tournament.
+     * @param pool      The pool the games are played on.
+     * @param games     The number of games to play.
+     * @param firstSeed The seed of the first game; game i is seeded with seedOf(firstSeed, i).
+     * @return The aggregated result of the games.
+     */
+    public TournamentResult run(ForkJoinPool pool, int games, long firstSeed) {
+        return pool.invoke(new TournamentTask(0, games, firstSeed));
+    }
+
+    /**
+     * Plays a single game of a tournament.
+     * @param seed The seed of the game.
+     * @param into The result the game's outcome is added to.
+     */
+    public void playGame(long seed, TournamentResult into) {
+        HeadlessSimulation simulation = new HeadlessSimulation(bricksPerRow, brickRows,
+                settings.withSeed(seed));
+        GameOutcome outcome = simulation.run(deltaTime, maxFrames,
+                new BallFollowingScript(settings.getPaddleWidth() / 4));
+        into.add(outcome, simulation.getGameManager().getStrategyTriggerCounts());
+    }
+
+    /**
+     * Gets the seed of a game of a tournament.
+     * @param firstSeed The seed of the tournament's first game.
+     * @param game      The number of the game in the tournament.
+     * @return The seed of the game.
+     */
+    public static long seedOf(long firstSeed, int game) {
+        return firstSeed + game;
+    }
+
+    /**
+     * Plays a tournament and prints its result and throughput.
+     * @param args Command-line arguments (optional): [games, threads] followed by any of
+     *             bricksPerRow=, brickRows=, maxFrames=, seed=, ballSpeed=, paddleWidth=, weights= (a
+     *             properties file of StrategyWeights), DOUBLE_BEHAVIOR_DEPTH=, and a weight per strategy
+     *             type, such as EXTRA_PUCKS=2. Options apply in order, so weights given after a weights file
+     *             override the file's.
+     * @throws IOException If the weights file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) :
+                Runtime.getRuntime().availableProcessors();
+        int bricksPerRow = Constants.DEFAULT_BRICKS_PER_ROW;
+        int brickRows = Constants.DEFAULT_BRICK_ROWS;
+        int maxFrames = 60 * 60 * 10;
+        long seed = 0;
+        GameSettings settings = GameSettings.defaults();
+        for (int i = 2; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected name=value, got " + args[i]);
+            }
+            String name = option[0];
+            String value = option[1];
+            if (name.equals("bricksPerRow")) {
+                bricksPerRow = Integer.parseInt(value);
+            } else if (name.equals("brickRows")) {
+                brickRows = Integer.parseInt(value);
+            } else if (name.equals("maxFrames")) {
+                maxFrames = Integer.parseInt(value);
+            } else if (name.equals("seed")) {
+                seed = Long.parseLong(value);
+            } else if (name.equals("ballSpeed")) {
+                settings = settings.withBallSpeed(Float.parseFloat(value));
+            } else if (name.equals("paddleWidth")) {
+                settings = settings.withPaddleWidth(Float.parseFloat(value));
+            } else if (name.equals("weights")) {
+                settings = settings.withStrategyWeights(StrategyWeights.load(Paths.get(value)));
+            } else if (name.equals(StrategyWeights.DOUBLE_BEHAVIOR_DEPTH_KEY)) {
+                settings = settings.withStrategyWeights(
+                        settings.getStrategyWeights().withDoubleBehaviorDepth(Integer.parseInt(value)));
+            } else {
+                settings = settings.withStrategyWeights(settings.getStrategyWeights().withWeight(
+                        StrategyType.valueOf(name), Double.parseDouble(value)));
+            }
+        }
+
+        TournamentRunner runner = new TournamentRunner(settings, bricksPerRow, brickRows, maxFrames,
+                HeadlessSimulation.DEFAULT_DELTA_TIME);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        TournamentResult result = runner.run(pool, games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        System.out.println(result);
+        System.out.printf("%d threads, %.2fs (%.0f games/s, %.0f frames/s)%n", threads, seconds,
+                games / seconds, result.getTotalFrames() / seconds);
+    }
+
+    /*
+     * Plays a range of the tournament's games, splitting it in halves until it is small enough.
+     */
+    private class TournamentTask extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstGame;
+        private final int endGame;
+        private final long firstSeed;
+
+        /*
+         * Constructs a task that plays the games in [firstGame, endGame).
+         */
+        TournamentTask(int firstGame, int endGame, long firstSeed) {
+            this.firstGame = firstGame;
+            this.endGame = endGame;
+            this.firstSeed = firstSeed;
+        }
+
+        /*
+         * Plays the games, or splits them between two sub-tasks and merges their results.
+         */
+        @Override
+        protected TournamentResult compute() {
+            if (endGame - firstGame <= GAMES_PER_TASK) {
+                TournamentResult result = new TournamentResult();
+                for (int game = firstGame; game < endGame; game++) {
+                    playGame(seedOf(firstSeed, game), result);
+                }
+                return result;
+            }
+            int middle = (firstGame + endGame) >>> 1;
+            TournamentTask first = new TournamentTask(firstGame, middle, firstSeed);
+            first.fork();
+            TournamentResult result = new TournamentTask(middle, endGame, firstSeed).compute();
+            result.merge(first.join());
+            return result;
+        }
+    }
+}
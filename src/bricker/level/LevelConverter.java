@@ -0,0 +1,135 @@
+package bricker.level;
+
+import bricker.brick_strategies.StrategyType;
+import bricker.main.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * LevelConverter converts a level drawn as a text grid into a binary level file (see LevelFormat).
+ * Each line of the text is a row of bricks, and each character a brick slot:
+ * '.' or ' ' is an empty slot, '#' a brick with a random strategy, and 'P', 'E', 'C', 'H', 'D' and 'B' a
+ * brick with the extra pucks, extra paddle, camera change, dropping heart, double behavior and basic
+ * behavior strategy. Lines starting with ';' are comments.
+ * The bricks are laid out like a generated board: the columns of the longest row fill the width of the
+ * window between the borders, and rows are stacked from the upper border down. The text is read twice,
+ * once to find the longest row and once to write the bricks, so the converter holds a single line at a time.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class LevelConverter {
+    private static final char COMMENT = ';';
+
+    private final float levelWidth;
+    private final float levelHeight;
+
+    /**
+     * Constructs a LevelConverter for levels designed for the specified window.
+     * @param levelWidth  The width of the window the levels are designed for.
+     * @param levelHeight The height of the window the levels are designed for.
+     */
+    public LevelConverter(float levelWidth, float levelHeight) {
+        this.levelWidth = levelWidth;
+        this.levelHeight = levelHeight;
+    }
+
+    /**
+     * Converts a text level into a binary level file.
+     * @param textFile  The text level.
+     * @param levelFile The binary level file to write.
+     * @return The number of bricks written.
+     * @throws IOException If a file cannot be read or written, or the text has an unknown brick character.
+     */
+    public int convert(Path textFile, Path levelFile) throws IOException {
+        int columns = 0;
+        try (BufferedReader text = Files.newBufferedReader(textFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = text.readLine()) != null) {
+                if (!isComment(line)) {
+                    columns = Math.max(columns, line.length());
+                }
+            }
+        }
+        float brickWidth = columns == 0 ? 0 : (levelWidth - (2 * Constants.BORDER_SIZE) -
+                (Constants.BRICKS_SPACE * (columns - 1))) / columns;
+
+        try (BufferedReader text = Files.newBufferedReader(textFile, StandardCharsets.UTF_8);
+             LevelWriter level = new LevelWriter(levelFile, levelWidth, levelHeight)) {
+            String line;
+            int lineNumber = 0;
+            int row = 0;
+            while ((line = text.readLine()) != null) {
+                lineNumber++;
+                if (isComment(line)) {
+                    continue;
+                }
+                float topLeftY = Constants.BORDER_SIZE +
+                        row * (Constants.BRICK_HEIGHT + Constants.BRICKS_SPACE);
+                for (int column = 0; column < line.length(); column++) {
+                    char slot = line.charAt(column);
+                    if (slot == '.' || slot == ' ') {
+                        continue;
+                    }
+                    float topLeftX = Constants.BORDER_SIZE + column * (brickWidth + Constants.BRICKS_SPACE);
+                    level.writeBrick(topLeftX, topLeftY, brickWidth, Constants.BRICK_HEIGHT,
+                            strategyOf(slot, lineNumber, column));
+                }
+                row++;
+            }
+            return level.getBrickCount();
+        }
+    }
+
+    /**
+     * Converts a text level into a binary level file, and prints the number of bricks written.
+     * @param args Command-line arguments: textFile levelFile [windowWidth windowHeight].
+     * @throws IOException If a file cannot be read or written, or the text has an unknown brick character.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 4) {
+            System.err.println("Usage: LevelConverter <textFile> <levelFile> [windowWidth windowHeight]");
+            return;
+        }
+        float levelWidth = args.length == 4 ? Float.parseFloat(args[2]) : Constants.DEFAULT_WINDOW_WIDTH;
+        float levelHeight = args.length == 4 ? Float.parseFloat(args[3]) : Constants.DEFAULT_WINDOW_HEIGHT;
+        int bricks = new LevelConverter(levelWidth, levelHeight).convert(Paths.get(args[0]),
+                Paths.get(args[1]));
+        System.out.println(bricks + " bricks written to " + args[1]);
+    }
+
+    /*
+     * Checks whether a line of the text is a comment.
+     */
+    private static boolean isComment(String line) {
+        return !line.isEmpty() && line.charAt(0) == COMMENT;
+    }
+
+    /*
+     * Returns the strategy type drawn by a brick character, or null for a random strategy.
+     */
+    private static StrategyType strategyOf(char slot, int lineNumber, int column) throws IOException {
+        switch (slot) {
+            case '#':
+                return null;
+            case 'P':
+                return StrategyType.EXTRA_PUCKS;
+            case 'E':
+                return StrategyType.EXTRA_PADDLE;
+            case 'C':
+                return StrategyType.CAMERA_CHANGE;
+            case 'H':
+                return StrategyType.DROPPING_HEART;
+            case 'D':
+                return StrategyType.DOUBLE_BEHAVIOR;
+            case 'B':
+                return StrategyType.BASIC_BEHAVIOR;
+            default:
+                throw new IOException("Unknown brick '" + slot + "' at line " + lineNumber + ", column " +
+                        (column + 1));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package bricker.level;
+
+/**
+ * LevelFormat holds the constants of the binary level format.
+ * A level file is a header followed by one fixed-size record per brick, so the position of any brick in the
+ * file is known without reading the bricks before it. All values are big-endian.
+ * The header is the MAGIC int, the VERSION byte, the number of strategy types the records were written
+ * against (a byte), the number of bricks (an int), and the width and height of the window the level was
+ * designed for (two floats). A brick record is the brick's top-left x and y, width and height (four
+ * floats), followed by a strategy byte: the ordinal of the brick's StrategyType, or RANDOM_STRATEGY for a
+ * strategy drawn at random like the bricks of a generated board.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public final class LevelFormat {
+    /* Prevents instantiation of this class. */
+    private LevelFormat() {
+    }
+
+    /** The first bytes of every level file ("BRLV"). */
+    public static final int MAGIC = 0x42524C56;
+    /** The version of the format. */
+    public static final int VERSION = 1;
+    /** The size of the header, in bytes. */
+    public static final int HEADER_BYTES = 18;
+    /** The offset of the number of bricks in the header, in bytes. */
+    public static final int BRICK_COUNT_OFFSET = 6;
+    /** The size of a brick record, in bytes. */
+    public static final int RECORD_BYTES = 17;
+    /** The strategy byte of a brick whose strategy is drawn at random when the level is loaded. */
+    public static final int RANDOM_STRATEGY = 0xFF;
+}
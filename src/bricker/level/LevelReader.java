@@ -0,0 +1,199 @@
+package bricker.level;
+
+import bricker.brick_strategies.StrategyType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * LevelReader streams the bricks of a level file (see LevelFormat) straight out of a memory-mapped view of
+ * the file. The reader is a cursor over the brick records: nextBrick() moves to the next record, whose
+ * values are then read through the getters, so a level of millions of bricks is loaded without creating an
+ * object per brick, and without ever holding the whole file on the heap.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class LevelReader implements Closeable {
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer records;
+    private final int brickCount;
+    private final float levelWidth;
+    private final float levelHeight;
+    private int bricksRead = 0;
+
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private StrategyType strategyType;
+
+    /*
+     * Constructs a LevelReader over an open channel, whose header is validated.
+     */
+    private LevelReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        if (fileSize < LevelFormat.HEADER_BYTES) {
+            throw new IOException("Not a level file");
+        }
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Level file is too large: " + fileSize + " bytes");
+        }
+        this.records = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        if (records.getInt() != LevelFormat.MAGIC) {
+            throw new IOException("Not a level file");
+        }
+        int version = Byte.toUnsignedInt(records.get());
+        if (version != LevelFormat.VERSION) {
+            throw new IOException("Unsupported level version " + version);
+        }
+        int strategyTypes = Byte.toUnsignedInt(records.get());
+        if (strategyTypes != STRATEGY_TYPES.length) {
+            throw new IOException("Level has " + strategyTypes + " strategy types, expected " +
+                    STRATEGY_TYPES.length);
+        }
+        this.brickCount = records.getInt();
+        this.levelWidth = records.getFloat();
+        this.levelHeight = records.getFloat();
+        if (brickCount < 0 || fileSize != LevelFormat.HEADER_BYTES +
+                (long) brickCount * LevelFormat.RECORD_BYTES) {
+            throw new IOException("Level file is truncated or corrupt: " + brickCount + " bricks in " +
+                    fileSize + " bytes");
+        }
+    }
+
+    /**
+     * Opens a level file and reads its header.
+     * @param levelFile The level file.
+     * @return A reader positioned before the first brick.
+     * @throws IOException If the file cannot be read, or is not a level of a supported version.
+     */
+    public static LevelReader open(Path levelFile) throws IOException {
+        FileChannel channel = FileChannel.open(levelFile, StandardOpenOption.READ);
+        try {
+            return new LevelReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Moves to the next brick of the level.
+     * @return True if there was another brick, false if all the bricks were read.
+     * @throws IOException If the brick's strategy is not a known strategy type.
+     */
+    public boolean nextBrick() throws IOException {
+        if (bricksRead == brickCount) {
+            return false;
+        }
+        x = records.getFloat();
+        y = records.getFloat();
+        width = records.getFloat();
+        height = records.getFloat();
+        int strategy = Byte.toUnsignedInt(records.get());
+        if (strategy == LevelFormat.RANDOM_STRATEGY) {
+            strategyType = null;
+        }
+        else if (strategy < STRATEGY_TYPES.length) {
+            strategyType = STRATEGY_TYPES[strategy];
+        }
+        else {
+            throw new IOException("Unknown strategy " + strategy + " of brick " + bricksRead);
+        }
+        bricksRead++;
+        return true;
+    }
+
+    /**
+     * Gets the number of bricks in the level.
+     * @return The number of bricks.
+     */
+    public int getBrickCount() {
+        return brickCount;
+    }
+
+    /**
+     * Gets the width of the window the level was designed for.
+     * @return The level's width.
+     */
+    public float getLevelWidth() {
+        return levelWidth;
+    }
+
+    /**
+     * Gets the height of the window the level was designed for.
+     * @return The level's height.
+     */
+    public float getLevelHeight() {
+        return levelHeight;
+    }
+
+    /**
+     * Gets the x coordinate of the current brick's top-left corner.
+     * @return The x coordinate, in level coordinates.
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y coordinate of the current brick's top-left corner.
+     * @return The y coordinate, in level coordinates.
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * Gets the width of the current brick.
+     * @return The width, in level coordinates.
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the current brick.
+     * @return The height, in level coordinates.
+     */
+    public float getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the strategy type of the current brick.
+     * @return The strategy type, or null if the brick's strategy is drawn at random.
+     */
+    public StrategyType getStrategyType() {
+        return strategyType;
+    }
+
+    /**
+     * Computes the checksum of the whole level file, by which a level is told apart from a changed one.
+     * @return The CRC-32 of the file's bytes.
+     */
+    public long checksum() {
+        CRC32 crc = new CRC32();
+        ByteBuffer file = records.duplicate();
+        file.rewind();
+        crc.update(file);
+        return crc.getValue();
+    }
+
+    /**
+     * Closes the level file.
+     * @throws IOException If closing the file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
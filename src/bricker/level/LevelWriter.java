@@ -0,0 +1,104 @@
+package bricker.level;
+
+import bricker.brick_strategies.StrategyType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * LevelWriter writes a level file (see LevelFormat) one brick at a time, through a fixed-size buffer, so a
+ * level of any size is written without knowing its number of bricks in advance: the header is written
+ * with no bricks, and its brick count is filled in when the writer is closed.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class LevelWriter implements Closeable {
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * LevelFormat.RECORD_BYTES);
+    private int brickCount = 0;
+
+    /**
+     * Creates a level file, replacing the file if it exists.
+     * @param levelFile   The level file.
+     * @param levelWidth  The width of the window the level is designed for.
+     * @param levelHeight The height of the window the level is designed for.
+     * @throws IOException If the file cannot be written.
+     */
+    public LevelWriter(Path levelFile, float levelWidth, float levelHeight) throws IOException {
+        this.channel = FileChannel.open(levelFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(LevelFormat.MAGIC);
+        buffer.put((byte) LevelFormat.VERSION);
+        buffer.put((byte) StrategyType.values().length);
+        buffer.putInt(0);
+        buffer.putFloat(levelWidth);
+        buffer.putFloat(levelHeight);
+    }
+
+    /**
+     * Appends a brick to the level.
+     * @param topLeftX     The x coordinate of the brick's top-left corner.
+     * @param topLeftY     The y coordinate of the brick's top-left corner.
+     * @param width        The width of the brick.
+     * @param height       The height of the brick.
+     * @param strategyType The strategy type of the brick, or null for a strategy drawn at random.
+     * @throws IOException If writing fails.
+     */
+    public void writeBrick(float topLeftX, float topLeftY, float width, float height,
+                           StrategyType strategyType) throws IOException {
+        if (brickCount == Integer.MAX_VALUE) {
+            throw new IOException("Too many bricks in a level");
+        }
+        if (buffer.remaining() < LevelFormat.RECORD_BYTES) {
+            flush();
+        }
+        buffer.putFloat(topLeftX);
+        buffer.putFloat(topLeftY);
+        buffer.putFloat(width);
+        buffer.putFloat(height);
+        buffer.put((byte) (strategyType == null ? LevelFormat.RANDOM_STRATEGY : strategyType.ordinal()));
+        brickCount++;
+    }
+
+    /**
+     * Gets the number of bricks written so far.
+     * @return The number of bricks.
+     */
+    public int getBrickCount() {
+        return brickCount;
+    }
+
+    /**
+     * Writes the remaining bricks and the brick count, and closes the file.
+     * @throws IOException If writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).putInt(brickCount);
+            count.flip();
+            while (count.hasRemaining()) {
+                channel.write(count, LevelFormat.BRICK_COUNT_OFFSET + count.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /*
+     * Writes the buffered bytes to the file.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -1,12 +1,36 @@
 package bricker.main;
 
 import bricker.brick_strategies.*;
+import bricker.collisions.BrickField;
+import bricker.collisions.BrickGrid;
+import bricker.collisions.BrickIndex;
+import bricker.engine.AssetCache;
+import bricker.engine.AudioMixer;
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import bricker.engine.GameObjectCommandBuffer;
+import bricker.engine.LifecycleManager;
+import bricker.engine.LivesCounter;
+import bricker.engine.Positions;
+import bricker.engine.PuckPool;
+import bricker.engine.PuckSpawner;
+import bricker.events.GameEventBus;
+import bricker.events.GameEventType;
+import bricker.events.GameTelemetry;
 import bricker.gameobjects.*;
+import bricker.level.LevelReader;
+import bricker.profiling.FramePhase;
+import bricker.profiling.FrameProfiler;
+import bricker.replay.RecordingUserInputListener;
+import bricker.replay.ReplayHeader;
+import bricker.replay.ReplayRecorder;
 import danogl.GameManager;
 import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
 import danogl.components.CoordinateSpace;
 import danogl.gui.*;
+import danogl.gui.rendering.Camera;
 import danogl.gui.rendering.RectangleRenderable;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
@@ -14,6 +38,13 @@ import danogl.util.Vector2;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -24,13 +55,38 @@ import java.util.Random;
  */
 public class BrickerGameManager extends GameManager {
     private Ball ball;
+    private MainBallCollisionHandler mainBallCollisionHandler;
+    private Paddle paddle;
     private Counter bricksCounter;
-    private Counter livesCounter;
+    private LivesCounter livesCounter;
     private UserInputListener inputListener;
-    private ImageReader imageReader;
-    private SoundReader soundReader;
+    private AssetCache assetCache;
+    private GameObjectCommandBuffer commandBuffer;
+    private EntityRegistry entityRegistry;
     private WindowController windowController;
     private Vector2 windowDimensions;
+    private BrickIndex brickIndex;
+    private BrickGrid brickGrid;
+    private Brick[] bricks;
+    private BrickField brickField;
+    private CollisionStrategyFactory strategyFactory;
+    private CachedBrickLayer brickLayer;
+    private PuckPool puckPool;
+    private PuckSwarm puckSwarm;
+    private LifecycleManager lifecycleManager;
+    private Random random;
+    private StrategyTriggerCounts strategyTriggerCounts;
+    private long seed;
+    private ReplayRecorder replayRecorder;
+    private RecordingUserInputListener recordingInputListener;
+    private boolean performanceOverlayEnabled = false;
+    private AssetCache sharedAssetCache;
+    private GameEventBus eventBus;
+    private GameTelemetry telemetry;
+    private String endMessage;
+    private boolean ballLost;
+    private Path levelFile;
+    private long levelChecksum;
 
     private static final Renderable BORDER_RENDERABLE =
             new RectangleRenderable(new Color(80, 140, 250));
@@ -38,6 +94,10 @@ public class BrickerGameManager extends GameManager {
     private int brickRows;
     private int bricksPerRow;
     private int bricksNum;
+    private final boolean headless;
+    private final GameSettings settings;
+    private final FrameProfiler profiler;
+    private final AudioMixer audioMixer;
 
     /**
      * Constructor for BrickerGameManager.
@@ -49,10 +109,46 @@ public class BrickerGameManager extends GameManager {
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
                               int bricksPerRow, int brickRows){
+        this(windowTitle, windowDimensions, bricksPerRow, brickRows, false);
+    }
+
+    /**
+     * Constructor for BrickerGameManager that can run without a window.
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window.
+     * @param bricksPerRow     The number of bricks per row in the game.
+     * @param brickRows        The number of rows of bricks in the game.
+     * @param headless         True if the game is driven without a window (see HeadlessSimulation),
+     *                         in which case run() must not be called.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+                              int bricksPerRow, int brickRows, boolean headless){
+        this(windowTitle, windowDimensions, bricksPerRow, brickRows, headless, GameSettings.defaults());
+    }
+
+    /**
+     * Constructor for BrickerGameManager with custom game settings.
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window.
+     * @param bricksPerRow     The number of bricks per row in the game.
+     * @param brickRows        The number of rows of bricks in the game.
+     * @param headless         True if the game is driven without a window (see HeadlessSimulation),
+     *                         in which case run() must not be called.
+     * @param settings         The tunable values of the game, and the seed of its random choices.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions,
+                              int bricksPerRow, int brickRows, boolean headless, GameSettings settings){
         super(windowTitle, windowDimensions);
         this.brickRows = brickRows;
         this.bricksPerRow = bricksPerRow;
         this.bricksNum = bricksPerRow * brickRows;
+        this.headless = headless;
+        this.settings = settings;
+        this.profiler = new FrameProfiler();
+        this.audioMixer = new AudioMixer(Constants.AUDIO_VOICES, Constants.AUDIO_VOICE_SECONDS,
+                settings.getMaxSoundPlaysPerSecond());
     }
 
     /**
@@ -65,79 +161,455 @@ public class BrickerGameManager extends GameManager {
     @Override
     public void initializeGame(ImageReader imageReader, SoundReader soundReader,
                                UserInputListener inputListener, WindowController windowController){
-        super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        if (headless) {
+            // there is no GUI component to hook into, so we only create the objects collection
+            setGameObjectsCollection(new GameObjectCollection(windowController.messages()));
+        }
+        else {
+            super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        }
         this.inputListener = inputListener;
         this.windowController = windowController;
         this.bricksCounter = new Counter(bricksNum);
-        this.livesCounter = new Counter(Constants.INITIAL_NUMBER_OF_LIVES);
+        this.livesCounter = new LivesCounter(Constants.INITIAL_NUMBER_OF_LIVES);
         this.windowDimensions = windowController.getWindowDimensions();
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
+        // every random choice of the game is drawn from a single generator, so a seed replays the game
+        this.seed = settings.hasSeed() ? settings.getSeed() : new Random().nextLong();
+        this.random = new Random(seed);
+        if (replayRecorder != null) {
+            recordingInputListener = new RecordingUserInputListener(inputListener, replayRecorder);
+            this.inputListener = recordingInputListener;
+            replayRecorder.beginSession(new ReplayHeader(seed, bricksPerRow, brickRows, windowDimensions,
+                    settings, levelFile, levelChecksum));
+        }
+        this.strategyTriggerCounts = new StrategyTriggerCounts();
+        initializeEventBus();
+        // decode every asset once, so that no image or sound is decoded during a collision frame
+        if (sharedAssetCache != null) {
+            this.assetCache = sharedAssetCache;
+        }
+        else {
+            this.assetCache = new AssetCache(imageReader, soundReader);
+            assetCache.preload();
+        }
+        this.commandBuffer = new GameObjectCommandBuffer(gameObjects());
+        this.entityRegistry = new EntityRegistry(commandBuffer);
 
         initializeBackground();
         initializeBorders();
         initializeBall();
         initializePaddle();
+        initializePuckPool();
         initializeBricks();
-        initializeGraphicLifeCounter();
-        initializeNumericLifeCounter();
-
+        // the life counters are only a display, and text rendering needs a screen
+        if (!headless) {
+            initializeGraphicLifeCounter();
+            initializeNumericLifeCounter();
+            if (performanceOverlayEnabled) {
+                initializePerformanceOverlay();
+            }
+        }
+        // adds the objects now rather than at the end of the first frame, so that they move in it, as they do
+        // in the first frame after a reset
+        commandBuffer.flush();
+        gameObjects().update(0);
     }
 
     /**
      * Updates the game state and checks for game end conditions.
+     * The steps of the engine's update are run here one by one, rather than through super.update, so that
+     * the FrameProfiler can time each phase of the frame. When a ball would move further than
+     * MAX_STEP_DISPLACEMENT in this frame (a high ball speed, or a long frame after a pause), the physics
+     * steps are split into as many sub-steps as needed, so the ball cannot pass through a brick, a border or
+     * a paddle between two collision checks. Ordinary frames run a single step.
      * @param deltaTime The time elapsed, in seconds, since the last frame.
      */
     public void update(float deltaTime){
-        super.update(deltaTime);
+        if (recordingInputListener != null) {
+            recordingInputListener.beginFrame(deltaTime);
+        }
+        long frameStart = System.nanoTime();
+        int subSteps = subStepsFor(deltaTime);
+        float stepTime = deltaTime / subSteps;
+        long objectUpdates = 0;
+        long engineCollisions = 0;
+        long brickCollisions = 0;
+        for (int step = 0; step < subSteps; step++) {
+            long stepStart = System.nanoTime();
+            for (GameObject gameObject : gameObjects()) {
+                gameObject.update(stepTime);
+            }
+            if (camera() != null) {
+                camera().update(stepTime);
+            }
+            // the objects added and removed while updating are applied along with the engine's own changes
+            commandBuffer.flush();
+            gameObjects().update(stepTime);
+            long objectUpdatesEnd = System.nanoTime();
+            gameObjects().handleCollisions();
+            long engineCollisionsEnd = System.nanoTime();
+            handleBrickCollisions();
+            long brickCollisionsEnd = System.nanoTime();
+            objectUpdates += objectUpdatesEnd - stepStart;
+            engineCollisions += engineCollisionsEnd - objectUpdatesEnd;
+            brickCollisions += brickCollisionsEnd - engineCollisionsEnd;
+        }
+        long physicsEnd = System.nanoTime();
+        lifecycleManager.cull(deltaTime);
         checkForGameEnd();
+        // the objects added and removed by the collisions of the frame are applied in one batch
+        commandBuffer.flush();
+        // the collision sounds of the frame are played together, at most once each
+        audioMixer.endFrame(deltaTime);
+        long frameEnd = System.nanoTime();
+
+        profiler.record(FramePhase.OBJECT_UPDATES, objectUpdates);
+        profiler.record(FramePhase.ENGINE_COLLISIONS, engineCollisions);
+        profiler.record(FramePhase.BRICK_COLLISIONS, brickCollisions);
+        profiler.record(FramePhase.GAME_LOGIC, frameEnd - physicsEnd);
+        profiler.record(FramePhase.FRAME, frameEnd - frameStart);
+    }
+
+    /**
+     * Renders the game, and records how long it took.
+     * @param g The graphics to draw with.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        long start = System.nanoTime();
+        super.render(g);
+        profiler.record(FramePhase.RENDER, System.nanoTime() - start);
+    }
+
+    /**
+     * Sets the camera of the game. A headless game never renders, so it ignores cameras.
+     * @param camera The new camera, or null to stop following an object.
+     */
+    @Override
+    public void setCamera(Camera camera) {
+        if (!headless) {
+            super.setCamera(camera);
+        }
+    }
+
+    /**
+     * Gets the number of bricks that were not destroyed yet.
+     * @return The number of remaining bricks.
+     */
+    public int getRemainingBricks() {
+        return bricksCounter.value();
+    }
+
+    /**
+     * Gets the number of lives the player has left.
+     * @return The number of remaining lives.
+     */
+    public int getRemainingLives() {
+        return livesCounter.value();
+    }
+
+    /**
+     * Gets the pool of extra pucks, whose size, live count and reuse count describe the pucks in play.
+     * @return The pool of extra pucks.
+     */
+    public PuckPool getPuckPool() {
+        return puckPool;
+    }
+
+    /**
+     * Gets the swarm holding the extra pucks of the chaos mode.
+     * @return The puck swarm, or null if the game is not played in chaos mode.
+     */
+    public PuckSwarm getPuckSwarm() {
+        return puckSwarm;
+    }
+
+    /**
+     * Replaces the input source the main paddle is moved by, such as with an autopilot in headless
+     * simulations. The paddle keeps its controller when the game is restarted.
+     * @param controller The new controller of the main paddle.
+     */
+    public void setPaddleController(PaddleController controller) {
+        paddle.setController(controller);
+    }
+
+    /**
+     * Gets the manager that culls the transient entities of the game, and counts them.
+     * @return The lifecycle manager.
+     */
+    public LifecycleManager getLifecycleManager() {
+        return lifecycleManager;
+    }
+
+    /**
+     * Gets the cache of decoded images and sounds, whose hit and miss counters tell whether any asset
+     * was decoded after the game was initialized.
+     * @return The asset cache.
+     */
+    public AssetCache getAssetCache() {
+        return assetCache;
+    }
+
+    /**
+     * Gets the registry of live entities, which counts the live objects of each kind.
+     * @return The entity registry.
+     */
+    public EntityRegistry getEntityRegistry() {
+        return entityRegistry;
+    }
+
+    /**
+     * Gets the buffer through which objects are added to and removed from the game during a frame.
+     * @return The command buffer.
+     */
+    public GameObjectCommandBuffer getCommandBuffer() {
+        return commandBuffer;
+    }
+
+    /**
+     * Records every game played by this manager, from now on, in the specified recorder. Should be called
+     * before the game is initialized.
+     * @param replayRecorder The recorder, or null to stop recording.
+     */
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Plays a designed level instead of a generated board of bricksPerRow by brickRows bricks. The level's
+     * header is read here, and its bricks are streamed from the file whenever a game is initialized. Should
+     * be called before the game is initialized.
+     * @param levelFile A level file, as written by bricker.level.LevelConverter.
+     * @throws IOException If the level cannot be read.
+     */
+    public void setLevel(Path levelFile) throws IOException {
+        try (LevelReader level = LevelReader.open(levelFile)) {
+            this.bricksNum = level.getBrickCount();
+            this.levelChecksum = level.checksum();
+        }
+        this.levelFile = levelFile;
+    }
+
+    /**
+     * Makes the game take its images and sounds from a frozen AssetCache shared with other games, instead
+     * of decoding its own. Should be called before the game is initialized.
+     * @param sharedAssetCache The preloaded, frozen cache of assets.
+     * @throws IllegalArgumentException If the cache is not frozen.
+     */
+    public void useSharedAssetCache(AssetCache sharedAssetCache) {
+        if (!sharedAssetCache.isFrozen()) {
+            throw new IllegalArgumentException("A shared asset cache must be frozen");
+        }
+        this.sharedAssetCache = sharedAssetCache;
+    }
+
+    /**
+     * Shows the frame-time percentiles of each phase of the frame on top of the game. Should be called
+     * before the game is initialized. Ignored in a headless game.
+     */
+    public void enablePerformanceOverlay() {
+        this.performanceOverlayEnabled = true;
+    }
+
+    /**
+     * Gets the bus on which the events of the current game, such as destroyed bricks and lost lives, are
+     * published.
+     * @return The event bus.
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Gets the counts of the events of the current game.
+     * @return The game's telemetry.
+     */
+    public GameTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Gets the profiler holding the durations of each phase of the frames played by this manager.
+     * @return The frame profiler.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Gets the mixer through which the collision sounds are played, whose counts tell how many plays were
+     * merged or dropped.
+     * @return The audio mixer.
+     */
+    public AudioMixer getAudioMixer() {
+        return audioMixer;
+    }
+
+    /**
+     * Gets the seed of the current game's random choices, with which the game can be replayed.
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of times the collision strategy of each type was triggered in this game.
+     * @return The strategy trigger counts.
+     */
+    public StrategyTriggerCounts getStrategyTriggerCounts() {
+        return strategyTriggerCounts;
     }
 
     /**
      * Main method to run the Bricker game.
-     * @param args Command-line arguments (optional): [bricksPerRow, brickRows].
+     * @param args Command-line arguments (optional): [bricksPerRow, brickRows] [--level levelFile]
+     *             [--record replayFile] [--profile reportFile] [--sound-rate playsPerSecond]
+     *             [--weights weightsFile] [--chaos]. With --level, the bricks of the level are played
+     *             instead of a generated board. With --profile, a performance overlay is shown and the
+     *             frame-time report, followed by the counts of the audio mixer and of the live and culled
+     *             entities, is written to reportFile on exit. With --sound-rate, at most playsPerSecond
+     *             collision sounds are played per second. With --weights, the bricks' strategies are drawn
+     *             with the StrategyWeights of weightsFile. With --chaos, every extra puck can spawn more, up
+     *             to thousands of pucks in a PuckSwarm.
+     * @throws IOException If the level or the weights cannot be read, or the replay file cannot be written.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         int bricksPerRow = Constants.DEFAULT_BRICKS_PER_ROW;
         int brickRowsNum = Constants.DEFAULT_BRICK_ROWS;
+        String replayFile = null;
+        String profileFile = null;
+        String levelFile = null;
+        GameSettings settings = GameSettings.defaults();
 
-        if (args.length == 2){
-            bricksPerRow = Integer.parseInt(args[0]);
-            brickRowsNum = Integer.parseInt(args[1]);
+        List<String> positionalArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--record") && i + 1 < args.length) {
+                replayFile = args[++i];
+            }
+            else if (args[i].equals("--profile") && i + 1 < args.length) {
+                profileFile = args[++i];
+            }
+            else if (args[i].equals("--level") && i + 1 < args.length) {
+                levelFile = args[++i];
+            }
+            else if (args[i].equals("--sound-rate") && i + 1 < args.length) {
+                settings = settings.withMaxSoundPlaysPerSecond(Float.parseFloat(args[++i]));
+            }
+            else if (args[i].equals("--weights") && i + 1 < args.length) {
+                settings = settings.withStrategyWeights(StrategyWeights.load(Paths.get(args[++i])));
+            }
+            else if (args[i].equals("--chaos")) {
+                settings = settings.withChaosMode(true);
+            }
+            else {
+                positionalArgs.add(args[i]);
+            }
+        }
+        if (positionalArgs.size() == 2){
+            bricksPerRow = Integer.parseInt(positionalArgs.get(0));
+            brickRowsNum = Integer.parseInt(positionalArgs.get(1));
         }
         Vector2 windowDimension = new Vector2(Constants.DEFAULT_WINDOW_WIDTH,
                 Constants.DEFAULT_WINDOW_HEIGHT);
-        BrickerGameManager brickerGameManager =
-                new BrickerGameManager(Constants.WINDOWS_TITLE, windowDimension, bricksPerRow, brickRowsNum);
-        brickerGameManager.run();
+        BrickerGameManager brickerGameManager = new BrickerGameManager(Constants.WINDOWS_TITLE,
+                windowDimension, bricksPerRow, brickRowsNum, false, settings);
+        if (levelFile != null) {
+            brickerGameManager.setLevel(Paths.get(levelFile));
+        }
+        if (profileFile != null) {
+            brickerGameManager.enablePerformanceOverlay();
+            Path profilePath = Paths.get(profileFile);
+            // closing the window may exit the JVM without returning from run()
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    brickerGameManager.getProfiler().dump(profilePath,
+                            brickerGameManager.getAudioMixer().describe(),
+                            brickerGameManager.getLifecycleManager().describe());
+                } catch (IOException e) {
+                    System.err.println("Could not write the frame-time report: " + e.getMessage());
+                }
+            }));
+        }
+        if (replayFile == null) {
+            brickerGameManager.run();
+            return;
+        }
+        // the recording can be played back without a window by bricker.replay.ReplayPlayer
+        try (ReplayRecorder replayRecorder = new ReplayRecorder(new FileOutputStream(replayFile))) {
+            brickerGameManager.setReplayRecorder(replayRecorder);
+            brickerGameManager.run();
+        }
     }
 
     /*
-     * Checks for game end conditions, such as running out of lives or destroying all bricks.
-     * Displays a popup message accordingly and resets the game if the player chooses to continue.
+     * Creates the game's event bus, and subscribes the telemetry and the end-of-game logic to it.
+     */
+    private void initializeEventBus() {
+        this.eventBus = new GameEventBus();
+        this.telemetry = new GameTelemetry();
+        this.endMessage = null;
+        this.ballLost = false;
+        eventBus.subscribeAll(telemetry);
+        eventBus.subscribe(GameEventType.BALL_OUT_OF_BOUNDS, this::onBallOutOfBounds);
+        eventBus.subscribe(GameEventType.LIFE_LOST, this::onLifeLost);
+        eventBus.subscribe(GameEventType.BRICK_DESTROYED, this::onBrickDestroyed);
+    }
+
+    /*
+     * Records that the main ball fell below the window. The life is taken at the end of the frame, once the
+     * ball is no longer part of this frame's collisions.
+     */
+    private void onBallOutOfBounds(GameEventType type, GameObject source, int value) {
+        if (source == ball) {
+            ballLost = true;
+        }
+    }
+
+    /*
+     * If no lives are left, the game is lost, unless it was already won.
+     */
+    private void onLifeLost(GameEventType type, GameObject source, int livesLeft) {
+        if (livesLeft == 0 && endMessage == null) {
+            endMessage = Constants.LOST_POPUP_MESSAGE;
+        }
+    }
+
+    /*
+     * If no bricks are left, the game is won.
+     */
+    private void onBrickDestroyed(GameEventType type, GameObject source, int bricksLeft) {
+        if (bricksLeft == 0) {
+            endMessage = Constants.WIN_POPUP_MESSAGE;
+        }
+    }
+
+    /*
+     * Takes a life if the ball was lost, and checks for game end conditions, such as running out of lives or
+     * destroying all bricks, which were recorded during the frame by the event bus subscribers. Displays a
+     * popup message accordingly and resets the game if the player chooses to continue.
      */
     private void checkForGameEnd() {
-        // check for ball state
         // if ball reached bottom of the window, we decrement one life, and re-spawn the ball
-        float ballHeight = ball.getCenter().y();
-        if (ballHeight > windowDimensions.y()){
+        if (ballLost) {
+            ballLost = false;
             livesCounter.decrement();
+            eventBus.publish(GameEventType.LIFE_LOST, ball, livesCounter.value());
             spawnBall();
         }
-        String message = "";
-        // if lives is zero, meaning game is lost
-        if (livesCounter.value() == 0){
-            message = Constants.LOST_POPUP_MESSAGE;
-        }
-        // if no bricks are left, meaning game is won.
+        String message = endMessage;
         // if 'w' is pressed, game is over and winning message pops up
-        if (bricksCounter.value() == 0 || inputListener.isKeyPressed(KeyEvent.VK_W)){
+        if (inputListener.isKeyPressed(KeyEvent.VK_W)){
             message = Constants.WIN_POPUP_MESSAGE;
         }
-        if (!message.isEmpty()) {
+        if (message != null) {
+            endMessage = null;
+            if (replayRecorder != null) {
+                replayRecorder.endSession();
+            }
             // if "yes" was entered, we start a new game
             if (windowController.openYesNoDialog(message)){
-                windowController.resetGame();
+                resetGame();
             }
             else {
                 // else, we end it
@@ -146,16 +618,166 @@ public class BrickerGameManager extends GameManager {
         }
     }
 
+    /*
+     * Starts a new game in place of windowController.resetGame(), which would run initializeGame again:
+     * decode every asset, and rebuild every brick, strategy and widget. Here the assets, the board and the
+     * widgets are kept. The transient objects are removed, the ball, the paddle and the counters are put
+     * back to their initial state, and every brick is restored in place. The new game's random choices are
+     * drawn in the same order as in initializeGame, so it plays, and replays, like a freshly initialized
+     * game.
+     */
+    private void resetGame() {
+        this.seed = settings.hasSeed() ? settings.getSeed() : random.nextLong();
+        random.setSeed(seed);
+        if (replayRecorder != null) {
+            replayRecorder.beginSession(new ReplayHeader(seed, bricksPerRow, brickRows, windowDimensions,
+                    settings, levelFile, levelChecksum));
+        }
+        strategyTriggerCounts.clear();
+        telemetry.clear();
+        endMessage = null;
+        ballLost = false;
+        setCamera(null);
+        mainBallCollisionHandler.reset();
+        puckPool.reclaimAll();
+        if (puckSwarm != null) {
+            puckSwarm.clear();
+        }
+        entityRegistry.removeAll(EntityKind.EXTRA_PADDLE);
+        entityRegistry.removeAll(EntityKind.DROPPING_HEART);
+        entityRegistry.removeAll(EntityKind.HEART);
+        lifecycleManager.clear();
+        // applies the pending removals, so that the hearts removed during this frame can be added back
+        commandBuffer.flush();
+        gameObjects().update(0);
+        livesCounter.set(Constants.INITIAL_NUMBER_OF_LIVES);
+        // the ball and the paddle start the new game as still as newly created ones
+        Positions.stop(ball);
+        Positions.stop(paddle);
+        spawnBall();
+        placePaddle();
+        restoreBricks();
+    }
+
+    /*
+     * Restores every brick of the board for a new game, with a new collision strategy, and draws the
+     * destroyed bricks back into the cached brick layer.
+     */
+    private void restoreBricks() {
+        bricksCounter.reset();
+        bricksCounter.increaseBy(bricksNum);
+        Renderable brickImage = assetCache.getImage(Constants.BRICK_IMAGE, false);
+        if (bricks != null) {
+            restoreBrickObjects(brickImage);
+        }
+        else {
+            restoreBrickField(brickImage);
+        }
+    }
+
+    /*
+     * Restores the Brick objects in place, putting the destroyed ones back into the brick grid.
+     */
+    private void restoreBrickObjects(Renderable brickImage) {
+        for (int row = 0; row < brickRows; row++) {
+            for (int col = 0; col < bricksPerRow; col++) {
+                Brick brick = bricks[row * bricksPerRow + col];
+                if (brick.isDestroyed()) {
+                    brickGrid.add(row, col, brick);
+                    if (brickLayer != null) {
+                        brickLayer.drawBrick(brickImage, brick.getTopLeftCorner(), brick.getDimensions());
+                    }
+                }
+                brick.restore(strategyFactory.buildStrategy());
+            }
+        }
+    }
+
+    /*
+     * Restores the bricks of the BrickField in place. The strategies of a level's bricks are streamed from
+     * the level file again, since the field only keeps the strategies it was last given.
+     */
+    private void restoreBrickField(Renderable brickImage) {
+        if (levelFile == null) {
+            for (int brick = 0; brick < brickField.size(); brick++) {
+                restoreFieldBrick(brick, strategyFactory.buildStrategy(), brickImage);
+            }
+            return;
+        }
+        try (LevelReader level = LevelReader.open(levelFile)) {
+            for (int brick = 0; brick < brickField.size() && level.nextBrick(); brick++) {
+                restoreFieldBrick(brick, strategyFactory.buildStrategy(level.getStrategyType()), brickImage);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not reload level " + levelFile, e);
+        }
+    }
+
+    /*
+     * Restores a single brick of the BrickField, drawing it back into the cached brick layer if it was
+     * destroyed.
+     */
+    private void restoreFieldBrick(int brick, CollisionStrategy collisionStrategy, Renderable brickImage) {
+        if (brickLayer != null && !brickField.isAlive(brick)) {
+            brickLayer.drawBrick(brickImage, new Vector2(brickField.getX(brick), brickField.getY(brick)),
+                    new Vector2(brickField.getWidth(brick), brickField.getHeight(brick)));
+        }
+        brickField.restore(brick, collisionStrategy);
+    }
+
+    /*
+     * Computes the number of physics steps the frame is split into, from the fastest ball in play.
+     */
+    private int subStepsFor(float deltaTime) {
+        float fastest = fastestAxisSpeed(EntityKind.MAIN_BALL, 0);
+        fastest = fastestAxisSpeed(EntityKind.PUCK, fastest);
+        if (puckSwarm != null) {
+            fastest = Math.max(fastest, puckSwarm.getFastestAxisSpeed());
+        }
+        float displacement = fastest * deltaTime;
+        if (displacement <= Constants.MAX_STEP_DISPLACEMENT) {
+            return 1;
+        }
+        return Math.min(Constants.MAX_SUB_STEPS,
+                (int) Math.ceil(displacement / Constants.MAX_STEP_DISPLACEMENT));
+    }
+
+    /*
+     * Gets the largest speed along either axis among the live entities of a kind, or the given speed if it
+     * is larger.
+     */
+    private float fastestAxisSpeed(EntityKind kind, float fastest) {
+        for (GameObject gameObject : entityRegistry.entitiesOf(kind)) {
+            Vector2 velocity = gameObject.getVelocity();
+            fastest = Math.max(fastest, Math.max(Math.abs(velocity.x()), Math.abs(velocity.y())));
+        }
+        return fastest;
+    }
+
+    /*
+     * Resolves collisions between moving objects and bricks through the brick index, instead of testing
+     * every moving object against every brick. The pucks of the chaos mode are tested after the objects.
+     */
+    private void handleBrickCollisions() {
+        for (GameObject gameObject : gameObjects().objectsInLayer(Layer.DEFAULT)) {
+            brickIndex.handleCollisions(gameObject);
+        }
+        if (puckSwarm != null) {
+            puckSwarm.handleBrickCollisions(brickIndex);
+        }
+    }
+
     /*
      * Initializes the main ball object in the game.
      */
     private void initializeBall(){
-        Renderable ballImage = imageReader.readImage(Constants.BALL_IMAGE, true);
-        Sound collisionSound = soundReader.readSound(Constants.BALL_SOUND);
+        Renderable ballImage = assetCache.getImage(Constants.BALL_IMAGE, true);
+        Sound collisionSound = audioMixer.mix(assetCache.getSound(Constants.BALL_SOUND));
+        mainBallCollisionHandler = new MainBallCollisionHandler(this);
         ball = new Ball(Vector2.ZERO, new Vector2(Constants.BALL_RADIUS, Constants.BALL_RADIUS), ballImage,
-                collisionSound, new MainBallCollisionHandler(this));
+                collisionSound, mainBallCollisionHandler, eventBus, windowDimensions.y());
         spawnBall();
-        gameObjects().addGameObject(ball);
+        entityRegistry.addGameObject(ball, EntityKind.MAIN_BALL);
     }
 
     /*
@@ -164,10 +786,9 @@ public class BrickerGameManager extends GameManager {
     private void spawnBall() {
         Vector2 windowCenter = windowDimensions.mult(0.5f);;
         // set ball to spawn at the center of the window
-        ball.setCenter(windowCenter);
-        Random random = new Random();
-        float ballVelX = Constants.BALL_SPEED;
-        float ballVelY = Constants.BALL_SPEED;
+        Positions.centerAt(ball, windowCenter);
+        float ballVelX = settings.getBallSpeed();
+        float ballVelY = settings.getBallSpeed();
         // by 50% chance we invert the direction of each axis' velocity
         if (random.nextBoolean()){
             ballVelX *= -1;
@@ -182,47 +803,202 @@ public class BrickerGameManager extends GameManager {
      * Initializes the main paddle object in the game.
      */
     private void initializePaddle() {
-        Renderable paddleImage = imageReader.readImage(Constants.PADDLE_IMAGE, true);
-        Paddle paddle = new Paddle(Vector2.ZERO, new Vector2(Constants.PADDLE_WIDTH, Constants.PADDLE_HEIGHT),
-                paddleImage, inputListener, windowDimensions);
+        Renderable paddleImage = assetCache.getImage(Constants.PADDLE_IMAGE, true);
+        paddle = new Paddle(Vector2.ZERO,
+                new Vector2(settings.getPaddleWidth(), Constants.PADDLE_HEIGHT), paddleImage, inputListener,
+                windowDimensions);
+        placePaddle();
+        paddle.setTag("Main Paddle");
+        entityRegistry.addGameObject(paddle, EntityKind.MAIN_PADDLE);
+    }
+
+    /*
+     * Fails fast when the board does not fit the window: the bricks of a row would have no width, or the
+     * rows would reach down to the paddle.
+     */
+    private void checkBoardFits(float brickWidth) {
+        if (brickWidth <= 0) {
+            throw new IllegalArgumentException("A board of " + bricksPerRow +
+                    " bricks per row does not fit a window " + windowDimensions.x() + " wide");
+        }
+        float bricksBottom = Constants.BORDER_SIZE +
+                brickRows * (Constants.BRICK_HEIGHT + Constants.BRICKS_SPACE) - Constants.BRICKS_SPACE;
+        float paddleTop = windowDimensions.y() - Constants.MIN_DIST - Constants.PADDLE_HEIGHT;
+        if (bricksBottom >= paddleTop) {
+            throw new IllegalArgumentException("A board of " + brickRows +
+                    " brick rows does not fit a window " + windowDimensions.y() + " high");
+        }
+    }
+
+    /*
+     * Places the main paddle at the bottom center of the window.
+     */
+    private void placePaddle() {
         Vector2 paddle_center = new Vector2(windowDimensions.x() / 2,
                 windowDimensions.y() - Constants.MIN_DIST - (Constants.PADDLE_HEIGHT / 2f));
-        paddle.setCenter(paddle_center);
-        paddle.setTag("Main Paddle");
-        gameObjects().addGameObject(paddle);
+        Positions.centerAt(paddle, paddle_center);
+    }
+
+    /*
+     * Initializes the pool of extra pucks, reading the puck's image and sound once for all pucks, and in
+     * chaos mode the swarm the bricks spawn their pucks into instead. The swarm finds its own collisions,
+     * so it is kept out of the layer the engine and the brick index test, and drops its own pucks.
+     * The pucks of the pool and the falling hearts are culled by the lifecycle manager.
+     */
+    private void initializePuckPool() {
+        Renderable puckImage = assetCache.getImage(Constants.PUCK_IMAGE, true);
+        Sound collisionSound = audioMixer.mix(assetCache.getSound(Constants.BALL_SOUND));
+        puckPool = new PuckPool(entityRegistry, puckImage, collisionSound, windowDimensions,
+                Constants.MAX_PUCKS);
+        lifecycleManager = new LifecycleManager(entityRegistry, puckPool, windowDimensions);
+        lifecycleManager.track(EntityKind.PUCK, Float.POSITIVE_INFINITY);
+        lifecycleManager.track(EntityKind.DROPPING_HEART, Constants.HEART_TIME_TO_LIVE);
+        lifecycleManager.track(EntityKind.HEART, Constants.HEART_TIME_TO_LIVE);
+        puckSwarm = null;
+        if (settings.isChaosMode()) {
+            puckSwarm = new PuckSwarm(windowDimensions, puckImage, collisionSound, entityRegistry,
+                    Constants.MAX_SWARM_PUCKS);
+            gameObjects().addGameObject(puckSwarm, Layer.FOREGROUND);
+        }
     }
 
     /*
-     * Initializes the bricks in the game using a loop based on the number of rows and columns.
+     * Initializes the bricks in the game using a loop based on the number of rows and columns, or from the
+     * level file if there is one. Very large boards are kept in a BrickField instead of as one Brick object
+     * per brick.
      */
     private void initializeBricks() {
 
-        Renderable brickImage = imageReader.readImage(Constants.BRICK_IMAGE, false);
+        Renderable brickImage = assetCache.getImage(Constants.BRICK_IMAGE, false);
         float brickWidth =
                 (windowDimensions.x() - (2 * Constants.BORDER_SIZE) - (Constants.BRICKS_SPACE *
                         (bricksPerRow - 1))) / bricksPerRow;
-        CollisionStrategyFactory collisionStrategyFactory = new CollisionStrategyFactory(this,
-                gameObjects(), ball, windowDimensions, soundReader, imageReader, inputListener,
-                windowController, livesCounter);
+        if (levelFile == null) {
+            checkBoardFits(brickWidth);
+        }
+        Vector2 brick_dimension = new Vector2(brickWidth, Constants.BRICK_HEIGHT);
+        // bricks are found by the brick index, so the engine does not need to test them against every object
+        gameObjects().layers().shouldLayersCollide(Layer.DEFAULT, Layer.STATIC_OBJECTS, false);
+        // the bricks are drawn once into a cached layer, blitted every frame; a headless game has no brick
+        // image, and never renders
+        brickLayer = brickImage == null ? null : new CachedBrickLayer(Vector2.ZERO, windowDimensions);
+        bricks = null;
+        brickField = null;
+        if (levelFile != null) {
+            initializeLevel(brickImage);
+        }
+        else if (bricksNum >= Constants.BRICK_FIELD_THRESHOLD) {
+            initializeBrickField(brickImage, brick_dimension);
+        }
+        else {
+            initializeBrickObjects(brickImage, brick_dimension);
+        }
+        if (brickLayer != null) {
+            gameObjects().addGameObject(new GameObject(Vector2.ZERO, windowDimensions, brickLayer),
+                    Layer.STATIC_OBJECTS);
+        }
+    }
+
+    /*
+     * Initializes one Brick object per brick, indexed by a BrickGrid. The bricks themselves have no
+     * renderable, they are drawn into the cached brick layer instead, and they are not added to the objects
+     * collection: they are found through the grid, and the engine would only update them every frame.
+     */
+    private void initializeBrickObjects(Renderable brickImage, Vector2 brick_dimension) {
+        brickGrid = new BrickGrid(brickRows, bricksPerRow,
+                new Vector2(Constants.BORDER_SIZE, Constants.BORDER_SIZE), brick_dimension,
+                Constants.BRICKS_SPACE);
+        brickIndex = brickGrid;
+        bricks = new Brick[bricksNum];
+        strategyFactory = createStrategyFactory();
+        for (int row = 0; row < brickRows; row++) {
+            for (int col = 0; col < bricksPerRow; col++) {
+                Vector2 top_left_corner = brickTopLeftCorner(row, col, brick_dimension.x());
+                Brick brick = new Brick(top_left_corner, brick_dimension, null,
+                        strategyFactory.buildStrategy(), bricksCounter, eventBus);
+                bricks[row * bricksPerRow + col] = brick;
+                if (brickLayer != null) {
+                    brickLayer.drawBrick(brickImage, top_left_corner, brick_dimension);
+                }
+                brickGrid.add(row, col, brick);
+            }
+        }
+    }
+
+    /*
+     * Initializes a BrickField holding all the bricks in primitive arrays, drawn into the cached brick layer.
+     */
+    private void initializeBrickField(Renderable brickImage, Vector2 brick_dimension) {
+        brickField = new BrickField(bricksNum, bricksCounter, eventBus);
+        brickIndex = brickField;
+        strategyFactory = createStrategyFactory();
         for (int row = 0; row < brickRows; row++) {
             for (int col = 0; col < bricksPerRow; col++) {
-                Vector2 top_left_corner = new Vector2(Constants.BORDER_SIZE + col *
-                        (brickWidth + Constants.BRICKS_SPACE),
-                        Constants.BORDER_SIZE + row * (Constants.BRICK_HEIGHT + Constants.BRICKS_SPACE));
-                Vector2 brick_dimension = new Vector2(brickWidth, Constants.BRICK_HEIGHT);
-
-                Brick brick = new Brick(top_left_corner, brick_dimension, brickImage,
-                        collisionStrategyFactory.buildStrategy(), bricksCounter);
-                gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+                Vector2 top_left_corner = brickTopLeftCorner(row, col, brick_dimension.x());
+                brickField.addBrick(top_left_corner.x(), top_left_corner.y(), brick_dimension.x(),
+                        brick_dimension.y(), strategyFactory.buildStrategy());
+            }
+        }
+        brickField.buildIndex();
+        if (brickLayer != null) {
+            brickLayer.drawAll(new BrickFieldRenderable(brickField, brickImage, Vector2.ZERO,
+                    windowDimensions));
+        }
+    }
+
+    /*
+     * Initializes a BrickField with the bricks of the level file, streamed from the file one brick at a time.
+     * A level's bricks may lie anywhere, so they are always kept in a BrickField, which does not assume
+     * rows and columns. The level is scaled from the window it was designed for to the game's window.
+     */
+    private void initializeLevel(Renderable brickImage) {
+        brickField = new BrickField(bricksNum, bricksCounter, eventBus);
+        brickIndex = brickField;
+        strategyFactory = createStrategyFactory();
+        try (LevelReader level = LevelReader.open(levelFile)) {
+            if (level.getBrickCount() != bricksNum) {
+                throw new IOException("Level file changed since it was set");
             }
+            float scaleX = windowDimensions.x() / level.getLevelWidth();
+            float scaleY = windowDimensions.y() / level.getLevelHeight();
+            while (level.nextBrick()) {
+                brickField.addBrick(level.getX() * scaleX, level.getY() * scaleY, level.getWidth() * scaleX,
+                        level.getHeight() * scaleY,
+                        strategyFactory.buildStrategy(level.getStrategyType()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load level " + levelFile, e);
+        }
+        brickField.buildIndex();
+        if (brickLayer != null) {
+            brickLayer.drawAll(new BrickFieldRenderable(brickField, brickImage, Vector2.ZERO,
+                    windowDimensions));
         }
     }
 
+    /*
+     * Creates the factory of the bricks' collision strategies, once the brick index exists.
+     */
+    private CollisionStrategyFactory createStrategyFactory() {
+        PuckSpawner puckSpawner = puckSwarm != null ? puckSwarm : puckPool;
+        return new CollisionStrategyFactory(this, brickIndex, brickLayer, entityRegistry,
+                ball, windowDimensions, puckSpawner, assetCache, inputListener, windowController,
+                livesCounter, settings, random, strategyTriggerCounts, profiler, eventBus);
+    }
+
+    /*
+     * Returns the top-left corner of the brick at the given row and column.
+     */
+    private Vector2 brickTopLeftCorner(int row, int col, float brickWidth) {
+        return new Vector2(Constants.BORDER_SIZE + col * (brickWidth + Constants.BRICKS_SPACE),
+                Constants.BORDER_SIZE + row * (Constants.BRICK_HEIGHT + Constants.BRICKS_SPACE));
+    }
+
     /*
      * Initializes the graphic life counter at the bottom left of the screen.
      */
     private void initializeGraphicLifeCounter(){
-        Renderable graphicLifeCounterImage = imageReader.readImage(Constants.HEART_IMAGE, true);
+        Renderable graphicLifeCounterImage = assetCache.getImage(Constants.HEART_IMAGE, true);
         // top left corner should be at the bottom left of the screen
         Vector2 topLeftCorner = new Vector2(Constants.BORDER_SIZE, windowDimensions.y() -
                 Constants.MIN_DIST - Constants.HEART_SIZE);
@@ -246,11 +1022,22 @@ public class BrickerGameManager extends GameManager {
         gameObjects().addGameObject(numericLifeCounter, Layer.BACKGROUND);
     }
 
+    /*
+     * Initializes the performance overlay at the top left of the screen.
+     */
+    private void initializePerformanceOverlay(){
+        Vector2 topLeftCorner = new Vector2(Constants.BORDER_SIZE, Constants.BORDER_SIZE);
+        Vector2 lineDimensions = new Vector2(Constants.OVERLAY_LINE_WIDTH, Constants.OVERLAY_LINE_HEIGHT);
+        PerformanceOverlay performanceOverlay = new PerformanceOverlay(topLeftCorner, lineDimensions,
+                profiler, gameObjects());
+        gameObjects().addGameObject(performanceOverlay, Layer.UI);
+    }
+
     /*
      * Initializes the game's background.
      */
     private void initializeBackground(){
-        Renderable backgroundImage = imageReader.readImage(Constants.GAME_BACKGROUND, false);
+        Renderable backgroundImage = assetCache.getImage(Constants.GAME_BACKGROUND, false);
         GameObject background = new GameObject(Vector2.ZERO, windowDimensions, backgroundImage);
         gameObjects().addGameObject(background, Layer.BACKGROUND);
         background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
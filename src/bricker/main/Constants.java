@@ -43,6 +43,18 @@ public class Constants {
      * The file path for the image of the puck.
      */
     public static final String PUCK_IMAGE = "assets/mockBall.png";
+    /**
+     * The maximum number of extra pucks that can be in play at once.
+     */
+    public static final int MAX_PUCKS = 64;
+    /**
+     * The maximum number of extra pucks that can be in play at once in chaos mode.
+     */
+    public static final int MAX_SWARM_PUCKS = 8192;
+    /**
+     * The time, in seconds, a falling heart stays in the game at most before it is culled.
+     */
+    public static final float HEART_TIME_TO_LIVE = 20;
     /**
      * The movement speed of the paddle.
      */
@@ -67,6 +79,47 @@ public class Constants {
      * The height of a brick.
      */
     public static final int BRICK_HEIGHT = 15;
+    /**
+     * The largest distance, in pixels along either axis, a ball moves in one physics step. A frame in which
+     * a ball would move further is split into sub-steps, so it cannot pass through a brick or a border.
+     */
+    public static final int MAX_STEP_DISPLACEMENT = BRICK_HEIGHT;
+    /**
+     * The maximum number of physics sub-steps a single frame is split into.
+     */
+    public static final int MAX_SUB_STEPS = 32;
+    /**
+     * The number of bricks from which the board is kept in a BrickField instead of as Brick objects.
+     */
+    public static final int BRICK_FIELD_THRESHOLD = 10_000;
+    /**
+     * The default weight of the extra pucks strategy, relative to the other strategies' weights.
+     */
+    public static final double EXTRA_PUCKS_WEIGHT = 1;
+    /**
+     * The default weight of the extra paddle strategy.
+     */
+    public static final double EXTRA_PADDLE_WEIGHT = 1;
+    /**
+     * The default weight of the camera change strategy.
+     */
+    public static final double CAMERA_CHANGE_WEIGHT = 1;
+    /**
+     * The default weight of the dropping heart strategy.
+     */
+    public static final double DROPPING_HEART_WEIGHT = 1;
+    /**
+     * The default weight of the double behavior strategy.
+     */
+    public static final double DOUBLE_BEHAVIOR_WEIGHT = 1;
+    /**
+     * The default weight of the basic behavior strategy.
+     */
+    public static final double BASIC_BEHAVIOR_WEIGHT = 5;
+    /**
+     * The default number of double behaviors that may be nested in one another, counting the outermost.
+     */
+    public static final int DOUBLE_BEHAVIOR_DEPTH = 2;
     /**
      * The default number of rows of bricks in the game.
      */
@@ -107,6 +160,26 @@ public class Constants {
      * The number of collisions a camera can withstand before being destroyed.
      */
     public static final int CAMERA_COLLISIONS_TILL_DESTRUCTION = 4;
+    /**
+     * The number of sounds the audio mixer plays at once.
+     */
+    public static final int AUDIO_VOICES = 5;
+    /**
+     * The time, in seconds, an audio voice stays busy after it starts a sound (the length of BALL_SOUND).
+     */
+    public static final float AUDIO_VOICE_SECONDS = 0.07f;
+    /**
+     * The default maximum number of sounds played per second.
+     */
+    public static final float MAX_SOUND_PLAYS_PER_SECOND = 30;
+    /**
+     * The width of a line of the performance overlay.
+     */
+    public static final int OVERLAY_LINE_WIDTH = 420;
+    /**
+     * The height of a line of the performance overlay.
+     */
+    public static final int OVERLAY_LINE_HEIGHT = 12;
     /**
      * The default width of the game window.
      */
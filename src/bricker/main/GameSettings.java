@@ -0,0 +1,166 @@
+package bricker.main;
+
+import bricker.brick_strategies.StrategyWeights;
+
+/**
+ * GameSettings holds the tunable values of a game: the speed of the balls, the width of the paddles, the
+ * weights with which the CollisionStrategyFactory draws each brick's strategy, the maximum number of
+ * sounds played per second, whether the game is played in chaos mode, and an optional seed for the game's
+ * random choices. A game with a seed and scripted (or replayed) input plays out the same way every time; a
+ * game without one picks a seed of its own.
+ * Settings are immutable; the with* methods return modified copies.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameSettings {
+    private final float ballSpeed;
+    private final float paddleWidth;
+    private final StrategyWeights strategyWeights;
+    private final float maxSoundPlaysPerSecond;
+    private final boolean chaosMode;
+    private final Long seed;
+
+    /*
+     * Constructs GameSettings with the given values.
+     */
+    private GameSettings(float ballSpeed, float paddleWidth, StrategyWeights strategyWeights,
+                         float maxSoundPlaysPerSecond, boolean chaosMode, Long seed) {
+        this.ballSpeed = ballSpeed;
+        this.paddleWidth = paddleWidth;
+        this.strategyWeights = strategyWeights;
+        this.maxSoundPlaysPerSecond = maxSoundPlaysPerSecond;
+        this.chaosMode = chaosMode;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates the default settings of the game, without a seed.
+     * @return The default settings.
+     */
+    public static GameSettings defaults() {
+        return new GameSettings(Constants.BALL_SPEED, Constants.PADDLE_WIDTH, StrategyWeights.defaults(),
+                Constants.MAX_SOUND_PLAYS_PER_SECOND, false, null);
+    }
+
+    /**
+     * Returns a copy of these settings with a different ball speed.
+     * @param newBallSpeed The speed of the main ball and of the extra pucks along each axis.
+     * @return The modified settings.
+     */
+    public GameSettings withBallSpeed(float newBallSpeed) {
+        return new GameSettings(newBallSpeed, paddleWidth, strategyWeights, maxSoundPlaysPerSecond,
+                chaosMode, seed);
+    }
+
+    /**
+     * Returns a copy of these settings with a different paddle width.
+     * @param newPaddleWidth The width of the main paddle and of the extra paddle.
+     * @return The modified settings.
+     */
+    public GameSettings withPaddleWidth(float newPaddleWidth) {
+        return new GameSettings(ballSpeed, newPaddleWidth, strategyWeights, maxSoundPlaysPerSecond,
+                chaosMode, seed);
+    }
+
+    /**
+     * Returns a copy of these settings with a different mix of strategies.
+     * @param newStrategyWeights The weights with which the bricks' strategies are drawn.
+     * @return The modified settings.
+     */
+    public GameSettings withStrategyWeights(StrategyWeights newStrategyWeights) {
+        return new GameSettings(ballSpeed, paddleWidth, newStrategyWeights, maxSoundPlaysPerSecond,
+                chaosMode, seed);
+    }
+
+    /**
+     * Returns a copy of these settings with a different limit on the sounds played per second (see
+     * bricker.engine.AudioMixer).
+     * @param newMaxSoundPlaysPerSecond The maximum sustained number of sounds played per second.
+     * @return The modified settings.
+     */
+    public GameSettings withMaxSoundPlaysPerSecond(float newMaxSoundPlaysPerSecond) {
+        return new GameSettings(ballSpeed, paddleWidth, strategyWeights, newMaxSoundPlaysPerSecond,
+                chaosMode, seed);
+    }
+
+    /**
+     * Returns a copy of these settings in or out of chaos mode, in which the extra pucks are kept in a
+     * PuckSwarm of up to MAX_SWARM_PUCKS pucks that never collide with each other, instead of in a pool of
+     * MAX_PUCKS ordinary balls.
+     * @param newChaosMode True to play in chaos mode.
+     * @return The modified settings.
+     */
+    public GameSettings withChaosMode(boolean newChaosMode) {
+        return new GameSettings(ballSpeed, paddleWidth, strategyWeights, maxSoundPlaysPerSecond,
+                newChaosMode, seed);
+    }
+
+    /**
+     * Returns a copy of these settings with a seed for the game's random choices.
+     * @param newSeed The seed.
+     * @return The modified settings.
+     */
+    public GameSettings withSeed(long newSeed) {
+        return new GameSettings(ballSpeed, paddleWidth, strategyWeights, maxSoundPlaysPerSecond,
+                chaosMode, newSeed);
+    }
+
+    /**
+     * Gets the speed of the main ball and of the extra pucks along each axis.
+     * @return The ball speed.
+     */
+    public float getBallSpeed() {
+        return ballSpeed;
+    }
+
+    /**
+     * Gets the width of the main paddle and of the extra paddle.
+     * @return The paddle width.
+     */
+    public float getPaddleWidth() {
+        return paddleWidth;
+    }
+
+    /**
+     * Gets the weights with which the bricks' strategies are drawn.
+     * @return The strategy weights.
+     */
+    public StrategyWeights getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * Gets the maximum sustained number of sounds played per second.
+     * @return The sound play limit.
+     */
+    public float getMaxSoundPlaysPerSecond() {
+        return maxSoundPlaysPerSecond;
+    }
+
+    /**
+     * Checks whether the game is played in chaos mode.
+     * @return True if the extra pucks are kept in a PuckSwarm.
+     */
+    public boolean isChaosMode() {
+        return chaosMode;
+    }
+
+    /**
+     * Checks whether the game's random choices are seeded.
+     * @return True if the settings have a seed.
+     */
+    public boolean hasSeed() {
+        return seed != null;
+    }
+
+    /**
+     * Gets the seed of the game's random choices.
+     * @return The seed.
+     * @throws IllegalStateException If the settings have no seed.
+     */
+    public long getSeed() {
+        if (seed == null) {
+            throw new IllegalStateException("The game settings have no seed");
+        }
+        return seed;
+    }
+}
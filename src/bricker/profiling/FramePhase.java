@@ -0,0 +1,22 @@
+package bricker.profiling;
+
+/**
+ * FramePhase is an enumeration of the phases of a frame that the FrameProfiler times.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public enum FramePhase {
+    /** The whole of BrickerGameManager.update. */
+    FRAME,
+    /** Updating every game object and the camera, and applying the objects added and removed. */
+    OBJECT_UPDATES,
+    /** The engine's collision resolution, which no longer includes the bricks. */
+    ENGINE_COLLISIONS,
+    /** Resolving the collisions with the bricks, strategy callbacks included. */
+    BRICK_COLLISIONS,
+    /** The collision strategies of the destroyed bricks (part of BRICK_COLLISIONS). */
+    STRATEGY_CALLBACKS,
+    /** Reclaiming pucks and checking whether the game ended. */
+    GAME_LOGIC,
+    /** Drawing the frame. */
+    RENDER
+}
@@ -0,0 +1,86 @@
+package bricker.profiling;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * FrameProfiler keeps a LatencyHistogram of the durations of each FramePhase, in nanoseconds.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class FrameProfiler {
+    private final LatencyHistogram[] histograms = new LatencyHistogram[FramePhase.values().length];
+
+    /**
+     * Constructs a FrameProfiler with an empty histogram for each phase.
+     */
+    public FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records a duration of a phase.
+     * @param phase         The phase.
+     * @param durationNanos  The duration of the phase, in nanoseconds.
+     */
+    public void record(FramePhase phase, long durationNanos) {
+        histograms[phase.ordinal()].record(durationNanos);
+    }
+
+    /**
+     * Gets the histogram of a phase.
+     * @param phase The phase.
+     * @return The histogram of the phase's durations, in nanoseconds.
+     */
+    public LatencyHistogram histogram(FramePhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Describes the durations of a phase in a single line, in milliseconds.
+     * @param phase The phase.
+     * @return The description of the phase.
+     */
+    public String describe(FramePhase phase) {
+        LatencyHistogram histogram = histogram(phase);
+        return String.format("%-18s n=%-8d p50 %7.3f  p99 %7.3f  p99.9 %7.3f  max %7.3f ms", phase,
+                histogram.getCount(), millis(histogram.percentile(0.5)), millis(histogram.percentile(0.99)),
+                millis(histogram.percentile(0.999)), millis(histogram.getMax()));
+    }
+
+    /**
+     * Describes the durations of every phase, a line per phase.
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (FramePhase phase : FramePhase.values()) {
+            report.append(describe(phase)).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file, replacing it if it exists, followed by the given lines.
+     * @param file       The file to write.
+     * @param extraLines Lines written after the report, such as descriptions of other subsystems.
+     * @throws IOException If writing fails.
+     */
+    public void dump(Path file, String... extraLines) throws IOException {
+        StringBuilder report = new StringBuilder(report());
+        for (String line : extraLines) {
+            report.append(line).append(System.lineSeparator());
+        }
+        Files.write(file, report.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * Converts nanoseconds to milliseconds.
+     */
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
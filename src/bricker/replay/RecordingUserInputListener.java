@@ -0,0 +1,188 @@
+package bricker.replay;
+
+import danogl.components.movement_schemes.movement_directing.KeyboardMovementDirector;
+import danogl.components.movement_schemes.movement_directing.MouseMovementDirector;
+import danogl.gui.UserInputListener;
+import danogl.gui.mouse.MouseButton;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.util.Set;
+
+/**
+ * RecordingUserInputListener wraps the game's UserInputListener and records the keys that drive the game
+ * (the arrow keys and 'w') in a ReplayRecorder. The keys are sampled once, at the start of each frame, and
+ * the whole frame sees that sample, so that keyboard events arriving in the middle of a frame cannot make
+ * the game diverge from its recording. Every other query is delegated to the wrapped listener.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class RecordingUserInputListener implements UserInputListener {
+    private final UserInputListener inputListener;
+    private final ReplayRecorder recorder;
+    private int keyBits = 0;
+
+    /**
+     * Constructs a RecordingUserInputListener with the specified parameters.
+     * @param inputListener The listener of the actual input.
+     * @param recorder      The recorder the sampled keys are written to.
+     */
+    public RecordingUserInputListener(UserInputListener inputListener, ReplayRecorder recorder) {
+        this.inputListener = inputListener;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Samples the recorded keys for the coming frame and records them. Should be called at the start of
+     * every frame, before any object reads the input.
+     * @param deltaTime The timestep of the coming frame, in seconds.
+     */
+    public void beginFrame(float deltaTime) {
+        keyBits = 0;
+        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
+            keyBits |= ReplayFormat.LEFT_KEY;
+        }
+        if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
+            keyBits |= ReplayFormat.RIGHT_KEY;
+        }
+        if (inputListener.isKeyPressed(KeyEvent.VK_W)) {
+            keyBits |= ReplayFormat.W_KEY;
+        }
+        recorder.recordFrame(deltaTime, keyBits);
+    }
+
+    /**
+     * Checks whether the specified key is pressed. The recorded keys are answered from the frame's sample.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @return True if the key is pressed.
+     */
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        if (keyCode == KeyEvent.VK_LEFT) {
+            return (keyBits & ReplayFormat.LEFT_KEY) != 0;
+        }
+        if (keyCode == KeyEvent.VK_RIGHT) {
+            return (keyBits & ReplayFormat.RIGHT_KEY) != 0;
+        }
+        if (keyCode == KeyEvent.VK_W) {
+            return (keyBits & ReplayFormat.W_KEY) != 0;
+        }
+        return inputListener.isKeyPressed(keyCode);
+    }
+
+
+    /**
+     * Checks whether the specified key was pressed in the current frame.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @return True if the key was pressed in the current frame.
+     */
+    @Override
+    public boolean wasKeyPressedThisFrame(int keyCode) {
+        return inputListener.wasKeyPressedThisFrame(keyCode);
+    }
+
+    /**
+     * Checks whether the specified key was released in the current frame.
+     * @param keyCode The key code, as defined in KeyEvent.
+     * @return True if the key was released in the current frame.
+     */
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyCode) {
+        return inputListener.wasKeyReleasedThisFrame(keyCode);
+    }
+
+    /**
+     * Checks whether the specified mouse button was clicked in the current frame.
+     * @param button The mouse button.
+     * @return True if the button was clicked in the current frame.
+     */
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return inputListener.wasMouseButtonClickedThisFrame(button);
+    }
+
+    /**
+     * Checks whether the specified mouse button was pressed in the current frame.
+     * @param button The mouse button.
+     * @return True if the button was pressed in the current frame.
+     */
+    @Override
+    public boolean wasMouseButtonPressedThisFrame(MouseButton button) {
+        return inputListener.wasMouseButtonPressedThisFrame(button);
+    }
+
+    /**
+     * Checks whether the specified mouse button was released in the current frame.
+     * @param button The mouse button.
+     * @return True if the button was released in the current frame.
+     */
+    @Override
+    public boolean wasMouseButtonReleasedThisFrame(MouseButton button) {
+        return inputListener.wasMouseButtonReleasedThisFrame(button);
+    }
+
+    /**
+     * Checks whether the specified mouse button is pressed.
+     * @param button The mouse button.
+     * @return True if the button is pressed.
+     */
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return inputListener.isMouseButtonPressed(button);
+    }
+
+    /**
+     * Gets the position of the mouse on the screen.
+     * @return The position of the mouse.
+     */
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return inputListener.getMouseScreenPos();
+    }
+
+    /**
+     * Gets the number of mouse wheel clicks in the current frame.
+     * @return The number of wheel clicks.
+     */
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return inputListener.mouseWheelClicksThisFrame();
+    }
+
+    /**
+     * Gets the currently pressed keys, as reported by the wrapped listener.
+     * @return The pressed keys.
+     */
+    @Override
+    public Set<Integer> pressedKeys() {
+        return inputListener.pressedKeys();
+    }
+
+    /**
+     * Gets the currently pressed mouse buttons.
+     * @return The pressed mouse buttons.
+     */
+    @Override
+    public Set<MouseButton> pressedMouseButtons() {
+        return inputListener.pressedMouseButtons();
+    }
+
+    /**
+     * Gets a movement director that follows the mouse.
+     * @param camera The camera the mouse position is relative to.
+     * @return The movement director.
+     */
+    @Override
+    public MouseMovementDirector mouseMovementDirector(Camera camera) {
+        return inputListener.mouseMovementDirector(camera);
+    }
+
+    /**
+     * Gets a movement director that follows the arrow keys.
+     * @return The movement director.
+     */
+    @Override
+    public KeyboardMovementDirector keyboardMovementDirector() {
+        return inputListener.keyboardMovementDirector();
+    }
+}
@@ -0,0 +1,31 @@
+package bricker.replay;
+
+/**
+ * ReplayFormat holds the constants of the binary replay format.
+ * A replay file is a sequence of sessions (a windowed game starts a new session whenever it is reset).
+ * Each session is a ReplayHeader followed by one byte per frame. The low bits of a frame byte are the keys
+ * that were pressed during the frame. When the frame's timestep differs from the previous frame's, the
+ * NEW_DELTA_TIME bit is set and the byte is followed by the new timestep as a float. A session ends with an
+ * END_OF_SESSION byte, or with the end of the file.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public final class ReplayFormat {
+    /* Prevents instantiation of this class. */
+    private ReplayFormat() {
+    }
+
+    /** The first bytes of every session header ("BRPL"). */
+    public static final int MAGIC = 0x4252504C;
+    /** The version of the format. */
+    public static final int VERSION = 4;
+    /** The frame bit set when the left arrow key was pressed. */
+    public static final int LEFT_KEY = 1;
+    /** The frame bit set when the right arrow key was pressed. */
+    public static final int RIGHT_KEY = 1 << 1;
+    /** The frame bit set when the 'w' key was pressed. */
+    public static final int W_KEY = 1 << 2;
+    /** The frame byte that ends a session. */
+    public static final int END_OF_SESSION = 1 << 6;
+    /** The frame bit set when the frame byte is followed by a new timestep. */
+    public static final int NEW_DELTA_TIME = 1 << 7;
+}
@@ -0,0 +1,189 @@
+package bricker.replay;
+
+import bricker.brick_strategies.StrategyType;
+import bricker.brick_strategies.StrategyWeights;
+import bricker.main.GameSettings;
+import danogl.util.Vector2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * ReplayHeader holds everything needed to recreate a recorded game before its first frame: the seed of its
+ * random choices, the layout of the board, the window dimensions and the game settings. The board is either
+ * generated from the number of bricks per row and of rows, or read from a level file, which is recorded by
+ * its path and its checksum, so that a level changed since the recording is detected rather than replayed.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class ReplayHeader {
+    private final long seed;
+    private final int bricksPerRow;
+    private final int brickRows;
+    private final Vector2 windowDimensions;
+    private final GameSettings settings;
+    private final Path levelFile;
+    private final long levelChecksum;
+
+    /**
+     * Constructs a ReplayHeader with the specified parameters.
+     * @param seed             The seed of the game's random choices.
+     * @param bricksPerRow     The number of bricks per row in the game.
+     * @param brickRows        The number of rows of bricks in the game.
+     * @param windowDimensions The dimensions of the game window.
+     * @param settings         The settings of the game. Their seed, if any, is ignored in favor of seed.
+     * @param levelFile        The level file the bricks were read from, or null if the board was generated.
+     * @param levelChecksum    The checksum of the level file (see LevelReader.checksum), ignored if there is
+     *                         no level file.
+     */
+    public ReplayHeader(long seed, int bricksPerRow, int brickRows, Vector2 windowDimensions,
+                        GameSettings settings, Path levelFile, long levelChecksum) {
+        this.seed = seed;
+        this.bricksPerRow = bricksPerRow;
+        this.brickRows = brickRows;
+        this.windowDimensions = windowDimensions;
+        this.settings = settings.withSeed(seed);
+        this.levelFile = levelFile;
+        this.levelChecksum = levelFile == null ? 0 : levelChecksum;
+    }
+
+    /**
+     * Writes this header.
+     * @param out The output to write to.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(ReplayFormat.MAGIC);
+        out.writeByte(ReplayFormat.VERSION);
+        out.writeLong(seed);
+        out.writeInt(bricksPerRow);
+        out.writeInt(brickRows);
+        out.writeFloat(windowDimensions.x());
+        out.writeFloat(windowDimensions.y());
+        out.writeFloat(settings.getBallSpeed());
+        out.writeFloat(settings.getPaddleWidth());
+        StrategyType[] strategyTypes = StrategyType.values();
+        out.writeByte(strategyTypes.length);
+        for (StrategyType strategyType : strategyTypes) {
+            out.writeDouble(settings.getStrategyWeights().getWeight(strategyType));
+        }
+        out.writeInt(settings.getStrategyWeights().getDoubleBehaviorDepth());
+        out.writeBoolean(settings.isChaosMode());
+        out.writeBoolean(levelFile != null);
+        if (levelFile != null) {
+            out.writeUTF(levelFile.toString());
+            out.writeLong(levelChecksum);
+        }
+    }
+
+    /**
+     * Reads a header written by writeTo.
+     * @param in The input to read from.
+     * @return The header.
+     * @throws IOException If reading fails, or the input is not a replay of a supported version.
+     */
+    public static ReplayHeader readFrom(DataInput in) throws IOException {
+        if (in.readInt() != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay session");
+        }
+        int version = in.readUnsignedByte();
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        long seed = in.readLong();
+        int bricksPerRow = in.readInt();
+        int brickRows = in.readInt();
+        Vector2 windowDimensions = new Vector2(in.readFloat(), in.readFloat());
+        GameSettings settings = GameSettings.defaults()
+                .withBallSpeed(in.readFloat())
+                .withPaddleWidth(in.readFloat());
+        StrategyType[] strategyTypes = StrategyType.values();
+        int weights = in.readUnsignedByte();
+        if (weights != strategyTypes.length) {
+            throw new IOException("Replay has " + weights + " strategy weights, expected " +
+                    strategyTypes.length);
+        }
+        StrategyWeights strategyWeights = StrategyWeights.defaults();
+        try {
+            for (StrategyType strategyType : strategyTypes) {
+                strategyWeights = strategyWeights.withWeight(strategyType, in.readDouble());
+            }
+            strategyWeights = strategyWeights.withDoubleBehaviorDepth(in.readInt());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Replay has invalid strategy weights", e);
+        }
+        settings = settings.withStrategyWeights(strategyWeights).withChaosMode(in.readBoolean());
+        Path levelFile = null;
+        long levelChecksum = 0;
+        if (in.readBoolean()) {
+            String levelPath = in.readUTF();
+            try {
+                levelFile = Paths.get(levelPath);
+            } catch (InvalidPathException e) {
+                throw new IOException("Replay has an invalid level path " + levelPath, e);
+            }
+            levelChecksum = in.readLong();
+        }
+        return new ReplayHeader(seed, bricksPerRow, brickRows, windowDimensions, settings, levelFile,
+                levelChecksum);
+    }
+
+    /**
+     * Gets the seed of the game's random choices.
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of bricks per row in the game.
+     * @return The number of bricks per row.
+     */
+    public int getBricksPerRow() {
+        return bricksPerRow;
+    }
+
+    /**
+     * Gets the number of rows of bricks in the game.
+     * @return The number of rows of bricks.
+     */
+    public int getBrickRows() {
+        return brickRows;
+    }
+
+    /**
+     * Gets the dimensions of the game window.
+     * @return The window dimensions.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * Gets the settings of the game, seeded with the game's seed.
+     * @return The game settings.
+     */
+    public GameSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Gets the level file the bricks of the game were read from.
+     * @return The level file, or null if the board was generated from bricksPerRow and brickRows.
+     */
+    public Path getLevelFile() {
+        return levelFile;
+    }
+
+    /**
+     * Gets the checksum the level file had when the game was recorded.
+     * @return The level's checksum, or 0 if there is no level file.
+     */
+    public long getLevelChecksum() {
+        return levelChecksum;
+    }
+}
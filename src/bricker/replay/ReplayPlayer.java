@@ -0,0 +1,107 @@
+package bricker.replay;
+
+import bricker.headless.GameOutcome;
+import bricker.headless.HeadlessSimulation;
+import bricker.headless.HeadlessUserInputListener;
+import bricker.level.LevelReader;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * ReplayPlayer re-runs recorded sessions frame for frame, without a window and as fast as possible.
+ * Each session is recreated from its header (seed, board or level, window and settings) and fed the
+ * recorded keys and timesteps, so it plays out exactly like the recorded game.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class ReplayPlayer {
+    private final DataInputStream in;
+
+    /**
+     * Constructs a ReplayPlayer that reads sessions from the specified stream.
+     * @param in The stream to read the replay from.
+     */
+    public ReplayPlayer(DataInputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Plays the next session of the replay to its end. A session cut off by the end of the replay (such as
+     * the last session of a game that was killed) is played up to its last recorded frame.
+     * @return The outcome of the session, or null if there are no more sessions.
+     * @throws IOException If reading fails, or the replay is malformed.
+     */
+    public GameOutcome playNextSession() throws IOException {
+        ReplayHeader header;
+        try {
+            header = ReplayHeader.readFrom(in);
+        } catch (EOFException e) {
+            return null;
+        }
+        HeadlessSimulation simulation = createSimulation(header);
+        HeadlessUserInputListener inputListener = simulation.getInputListener();
+        float deltaTime = HeadlessSimulation.DEFAULT_DELTA_TIME;
+        int frame;
+        while ((frame = in.read()) >= 0 && frame != ReplayFormat.END_OF_SESSION) {
+            if ((frame & ReplayFormat.NEW_DELTA_TIME) != 0) {
+                deltaTime = in.readFloat();
+            }
+            inputListener.setKeyPressed(KeyEvent.VK_LEFT, (frame & ReplayFormat.LEFT_KEY) != 0);
+            inputListener.setKeyPressed(KeyEvent.VK_RIGHT, (frame & ReplayFormat.RIGHT_KEY) != 0);
+            inputListener.setKeyPressed(KeyEvent.VK_W, (frame & ReplayFormat.W_KEY) != 0);
+            simulation.step(deltaTime);
+        }
+        return simulation.outcome();
+    }
+
+    /*
+     * Recreates the game of a session from its header, on its generated board or on its level. A level that
+     * changed since it was recorded would play out differently, so it is rejected.
+     */
+    private static HeadlessSimulation createSimulation(ReplayHeader header) throws IOException {
+        Path levelFile = header.getLevelFile();
+        if (levelFile == null) {
+            return new HeadlessSimulation(header.getBricksPerRow(), header.getBrickRows(),
+                    header.getSettings(), header.getWindowDimensions());
+        }
+        try (LevelReader level = LevelReader.open(levelFile)) {
+            if (level.checksum() != header.getLevelChecksum()) {
+                throw new IOException("Level " + levelFile + " changed since the replay was recorded");
+            }
+        }
+        return new HeadlessSimulation(levelFile, header.getBricksPerRow(), header.getBrickRows(),
+                header.getSettings(), header.getWindowDimensions());
+    }
+
+    /**
+     * Plays every session of a replay file and prints their outcomes and the playback speed.
+     * @param args Command-line arguments: [replayFile].
+     * @throws IOException If the replay cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayPlayer <replayFile>");
+            return;
+        }
+        try (DataInputStream in =
+                     new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))) {
+            ReplayPlayer player = new ReplayPlayer(in);
+            long start = System.nanoTime();
+            long frames = 0;
+            int session = 0;
+            GameOutcome outcome;
+            while ((outcome = player.playNextSession()) != null) {
+                System.out.println("session " + session++ + ": " + outcome);
+                frames += outcome.getFrames();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d sessions, %d frames in %.2fs (%.0f frames/s)%n", session, frames, seconds,
+                    frames / seconds);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package bricker.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * ReplayRecorder writes the sessions of a game in the binary replay format (see ReplayFormat): a header
+ * per session, then a single byte per frame, plus a float whenever the timestep changes.
+ * The recorder is called from the game loop, which cannot throw checked exceptions, so write failures are
+ * reported as UncheckedIOException.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class ReplayRecorder implements Closeable {
+    private final DataOutputStream out;
+    private float lastDeltaTime = Float.NaN;
+    private boolean inSession = false;
+    private long frames = 0;
+
+    /**
+     * Constructs a ReplayRecorder that writes to the specified stream.
+     * @param out The stream to write the replay to. It is closed when the recorder is closed.
+     */
+    public ReplayRecorder(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * Starts a new session, ending the current one if there is one.
+     * @param header The header of the new session.
+     */
+    public void beginSession(ReplayHeader header) {
+        endSession();
+        try {
+            header.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastDeltaTime = Float.NaN;
+        inSession = true;
+    }
+
+    /**
+     * Records a frame of the current session.
+     * @param deltaTime The timestep of the frame, in seconds.
+     * @param keyBits   The keys pressed during the frame, as a combination of the key bits of ReplayFormat.
+     */
+    public void recordFrame(float deltaTime, int keyBits) {
+        if (!inSession) {
+            return;
+        }
+        try {
+            // compare the bits, so that a timestep that is NaN is written only once
+            if (Float.floatToIntBits(deltaTime) != Float.floatToIntBits(lastDeltaTime)) {
+                out.writeByte(keyBits | ReplayFormat.NEW_DELTA_TIME);
+                out.writeFloat(deltaTime);
+                lastDeltaTime = deltaTime;
+            } else {
+                out.writeByte(keyBits);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        frames++;
+    }
+
+    /**
+     * Ends the current session and flushes it, so that it is complete on disk even if the game is killed.
+     * Does nothing if there is no current session.
+     */
+    public void endSession() {
+        if (!inSession) {
+            return;
+        }
+        inSession = false;
+        try {
+            out.writeByte(ReplayFormat.END_OF_SESSION);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the number of frames recorded so far, over all sessions.
+     * @return The number of recorded frames.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Ends the current session and closes the underlying stream.
+     * @throws IOException If closing the stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            endSession();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package bricker.server;
+
+import bricker.engine.AssetCache;
+import bricker.headless.HeadlessImageReader;
+import bricker.headless.HeadlessSimulation;
+import bricker.headless.HeadlessSoundReader;
+import bricker.headless.HeadlessWindowController;
+import bricker.main.Constants;
+import bricker.main.GameSettings;
+import bricker.profiling.LatencyHistogram;
+import danogl.util.Vector2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameServer hosts many concurrent Bricker sessions in one JVM. Every client that connects to the server's
+ * socket gets a GameSession of its own, a headless game played over the SessionProtocol.
+ * Each session's fixed-timestep loop is a periodic task on a ScheduledExecutorService handed to the server,
+ * so thousands of sessions share a few threads instead of holding a thread each, and a session waiting for
+ * its next tick costs nothing. Sessions share a single frozen AssetCache, and no other mutable state.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameServer implements Closeable {
+    private final GameSettings settings;
+    private final int bricksPerRow;
+    private final int brickRows;
+    private final float deltaTime;
+    private final ScheduledExecutorService ticker;
+    private final Vector2 windowDimensions;
+    private final AssetCache sharedAssetCache;
+    private final Set<GameSession> liveSessions = ConcurrentHashMap.newKeySet();
+    private final LatencyHistogram closedSessionsJitter = new LatencyHistogram();
+    private final AtomicLong startedSessions = new AtomicLong();
+    private final AtomicLong closedSessionsDroppedStates = new AtomicLong();
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * Constructs a GameServer. The assets of the games are preloaded here, once for all the sessions.
+     * @param settings     The settings of every game. Unless they hold a seed, every game picks its own.
+     * @param bricksPerRow The number of bricks per row in each game.
+     * @param brickRows    The number of rows of bricks in each game.
+     * @param deltaTime    The timestep of each tick, in seconds.
+     * @param ticker       The executor running the loops of the sessions.
+     */
+    public GameServer(GameSettings settings, int bricksPerRow, int brickRows, float deltaTime,
+                      ScheduledExecutorService ticker) {
+        this.settings = settings;
+        this.bricksPerRow = bricksPerRow;
+        this.brickRows = brickRows;
+        this.deltaTime = deltaTime;
+        this.ticker = ticker;
+        this.windowDimensions = new Vector2(Constants.DEFAULT_WINDOW_WIDTH, Constants.DEFAULT_WINDOW_HEIGHT);
+        HeadlessWindowController windowController = new HeadlessWindowController(windowDimensions);
+        this.sharedAssetCache = new AssetCache(new HeadlessImageReader(windowController.messages()),
+                new HeadlessSoundReader(windowController.messages()));
+        sharedAssetCache.preload();
+        sharedAssetCache.freeze();
+    }
+
+    /**
+     * Starts accepting clients on the specified address, on a thread of its own, which runs until the server
+     * is closed.
+     * @param address The address to listen on, such as a loopback address with port 0 for any free port.
+     * @return The address the server listens on.
+     * @throws IOException If the address cannot be bound.
+     */
+    public InetSocketAddress start(InetSocketAddress address) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        Thread acceptor = new Thread(this::acceptClients, "bricker-acceptor");
+        acceptor.start();
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Stops accepting clients, and ends every live session.
+     * @throws IOException If the server's socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        for (GameSession session : liveSessions) {
+            session.close();
+        }
+    }
+
+    /**
+     * Gets the number of sessions being played.
+     * @return The number of live sessions.
+     */
+    public int getLiveSessions() {
+        return liveSessions.size();
+    }
+
+    /**
+     * Gets the number of sessions started since the server started.
+     * @return The number of started sessions.
+     */
+    public long getStartedSessions() {
+        return startedSessions.get();
+    }
+
+    /**
+     * Gets how late the ticks of every session, live or ended, started compared to their fixed timestep.
+     * @return A new histogram of the tick jitter, in nanoseconds.
+     */
+    public LatencyHistogram jitter() {
+        LatencyHistogram jitter = new LatencyHistogram();
+        synchronized (closedSessionsJitter) {
+            jitter.add(closedSessionsJitter);
+        }
+        for (GameSession session : liveSessions) {
+            session.addJitterTo(jitter);
+        }
+        return jitter;
+    }
+
+    /**
+     * Gets the number of state messages dropped because a client did not read them in time.
+     * @return The number of dropped state messages of every session, live or ended.
+     */
+    public long getDroppedStates() {
+        long droppedStates = closedSessionsDroppedStates.get();
+        for (GameSession session : liveSessions) {
+            droppedStates += session.getDroppedStates();
+        }
+        return droppedStates;
+    }
+
+    /**
+     * Called by a session when it ends: the session stops counting as live, and its counts are kept.
+     * @param session The session that ended.
+     */
+    void sessionClosed(GameSession session) {
+        if (liveSessions.remove(session)) {
+            synchronized (closedSessionsJitter) {
+                session.addJitterTo(closedSessionsJitter);
+            }
+            closedSessionsDroppedStates.addAndGet(session.getDroppedStates());
+        }
+    }
+
+    /*
+     * Accepts clients until the server is closed, starting a session for each.
+     */
+    private void acceptClients() {
+        try {
+            while (true) {
+                SocketChannel channel = serverChannel.accept();
+                try {
+                    startSession(channel);
+                } catch (IOException | RuntimeException e) {
+                    // a client whose game cannot be created is turned away, without stopping the server
+                    System.err.println("Could not start a game session: " + e);
+                    channel.close();
+                }
+            }
+        } catch (ClosedChannelException e) {
+            // the server was closed
+        } catch (IOException e) {
+            System.err.println("The game server stopped accepting clients: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Creates the game of a newly connected client, and schedules its loop.
+     */
+    private void startSession(SocketChannel channel) throws IOException {
+        channel.socket().setTcpNoDelay(true);
+        HeadlessSimulation simulation = new HeadlessSimulation(bricksPerRow, brickRows, settings,
+                windowDimensions, sharedAssetCache);
+        GameSession session = new GameSession(this, simulation, channel, deltaTime);
+        liveSessions.add(session);
+        startedSessions.incrementAndGet();
+        long tickNanos = Math.round(deltaTime * 1e9);
+        session.beginAt(System.nanoTime());
+        ScheduledFuture<?> task = ticker.scheduleAtFixedRate(session, 0, tickNanos, TimeUnit.NANOSECONDS);
+        session.setTicker(task);
+    }
+
+    /**
+     * Runs a game server until the process is stopped.
+     * @param args Command-line arguments (optional): [port, threads, bricksPerRow, brickRows]. The server
+     *             listens on the loopback address only.
+     * @throws IOException If the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int threads = args.length > 1 ?
+                Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int bricksPerRow = args.length > 3 ? Integer.parseInt(args[2]) : Constants.DEFAULT_BRICKS_PER_ROW;
+        int brickRows = args.length > 3 ? Integer.parseInt(args[3]) : Constants.DEFAULT_BRICK_ROWS;
+        GameServer server = new GameServer(GameSettings.defaults(), bricksPerRow, brickRows,
+                HeadlessSimulation.DEFAULT_DELTA_TIME, Executors.newScheduledThreadPool(threads));
+        InetSocketAddress address = server.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        System.out.println("Bricker server listening on " + address);
+    }
+}
@@ -0,0 +1,268 @@
+package bricker.server;
+
+import bricker.engine.EntityKind;
+import bricker.engine.EntityRegistry;
+import bricker.headless.GameOutcome;
+import bricker.headless.GameResult;
+import bricker.headless.HeadlessSimulation;
+import bricker.headless.HeadlessUserInputListener;
+import bricker.profiling.LatencyHistogram;
+import bricker.replay.ReplayFormat;
+import danogl.GameObject;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * GameSession is a single game of a GameServer, played by the client at the other end of a socket. The
+ * server runs the session's fixed-timestep loop by calling run() once per tick: the session applies the
+ * input the client sent since the previous tick, advances its headless game by one frame, and sends the
+ * client the new state of the game (see SessionProtocol). The socket is non-blocking, so a tick never
+ * waits for a client; a state message that a slow client has not made room for is dropped. The final
+ * state of a game is never dropped: once the game ends, the session's ticks only send what is left of its
+ * output, and the session is closed when the final state was sent, or when the client has not read it in
+ * time.
+ * Ticks of a session never overlap, but may run on different threads. The only state read by other
+ * threads is the tick jitter, which is guarded by its histogram.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class GameSession implements Runnable {
+    private static final int INPUT_BUFFER_BYTES = 64;
+    private static final long DRAIN_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final GameServer server;
+    private final HeadlessSimulation simulation;
+    private final SocketChannel channel;
+    private final float deltaTime;
+    private final long tickNanos;
+    private final ByteBuffer input = ByteBuffer.allocate(INPUT_BUFFER_BYTES);
+    private final ByteBuffer output = ByteBuffer.allocate(SessionProtocol.STATE_BYTES);
+    private final LatencyHistogram jitter = new LatencyHistogram();
+    private volatile ScheduledFuture<?> ticker;
+    private long startNanos;
+    private long ticks = 0;
+    private boolean ended = false;
+    private boolean finalStateQueued = false;
+    private long drainDeadline;
+    private volatile long droppedStates = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs a GameSession over a connected client.
+     * @param server     The server the session reports to when it ends.
+     * @param simulation The initialized game of the session.
+     * @param channel    The client's socket. It is made non-blocking, and closed when the session ends.
+     * @param deltaTime  The timestep of each tick, in seconds.
+     * @throws IOException If the socket cannot be made non-blocking.
+     */
+    public GameSession(GameServer server, HeadlessSimulation simulation, SocketChannel channel,
+                       float deltaTime) throws IOException {
+        this.server = server;
+        this.simulation = simulation;
+        this.channel = channel;
+        this.deltaTime = deltaTime;
+        this.tickNanos = Math.round(deltaTime * 1e9);
+        channel.configureBlocking(false);
+        // the output buffer starts out empty, so the first state message is not dropped
+        output.flip();
+    }
+
+    /**
+     * Sets the time of the session's first tick, from which the jitter of every tick is measured. Should be
+     * called before the session is first run.
+     * @param startNanos The time, as given by System.nanoTime, of the session's first tick.
+     */
+    void beginAt(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Sets the scheduled task running the session, which is cancelled when the session ends. The session may
+     * already have run, and even ended, by the time its task is known.
+     * @param ticker The scheduled task running the session.
+     */
+    void setTicker(ScheduledFuture<?> ticker) {
+        this.ticker = ticker;
+        if (closed) {
+            ticker.cancel(false);
+        }
+    }
+
+    /**
+     * Runs a single tick of the session, and ends the session when its client left, or when its game ended
+     * and the final state was sent.
+     */
+    @Override
+    public void run() {
+        if (closed) {
+            return;
+        }
+        // the jitter of a tick is how late it started compared to the session's fixed timestep
+        long lateness = System.nanoTime() - (startNanos + ticks * tickNanos);
+        synchronized (jitter) {
+            jitter.record(lateness);
+        }
+        ticks++;
+        try {
+            if (ended) {
+                drainOutput();
+                return;
+            }
+            if (!readInput()) {
+                close();
+                return;
+            }
+            if (simulation.step(deltaTime)) {
+                writeState();
+                return;
+            }
+            ended = true;
+            drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+            drainOutput();
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Ends the session: stops its loop, closes the client's socket, and reports the session to the server.
+     * Closing a closed session does nothing.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ScheduledFuture<?> task = ticker;
+        if (task != null) {
+            task.cancel(false);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the session is over either way
+        }
+        server.sessionClosed(this);
+    }
+
+    /**
+     * Checks whether the session has ended.
+     * @return True if the session was closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Adds the jitter of the session's ticks recorded so far to a histogram.
+     * @param into The histogram the jitter, in nanoseconds, is added to.
+     */
+    public void addJitterTo(LatencyHistogram into) {
+        synchronized (jitter) {
+            into.add(jitter);
+        }
+    }
+
+    /**
+     * Gets the number of state messages dropped because the client did not read them in time.
+     * @return The number of dropped state messages.
+     */
+    public long getDroppedStates() {
+        return droppedStates;
+    }
+
+    /*
+     * Applies the input the client sent since the previous tick: the last key byte wins. Returns false if
+     * the client quit or closed its socket.
+     */
+    private boolean readInput() throws IOException {
+        int keyBits = -1;
+        int read;
+        while ((read = channel.read(input)) > 0) {
+            input.flip();
+            while (input.hasRemaining()) {
+                int value = input.get() & 0xFF;
+                if ((value & SessionProtocol.QUIT) != 0) {
+                    return false;
+                }
+                keyBits = value;
+            }
+            input.clear();
+        }
+        if (read < 0) {
+            return false;
+        }
+        if (keyBits >= 0) {
+            HeadlessUserInputListener inputListener = simulation.getInputListener();
+            inputListener.setKeyPressed(KeyEvent.VK_LEFT, (keyBits & ReplayFormat.LEFT_KEY) != 0);
+            inputListener.setKeyPressed(KeyEvent.VK_RIGHT, (keyBits & ReplayFormat.RIGHT_KEY) != 0);
+            inputListener.setKeyPressed(KeyEvent.VK_W, (keyBits & ReplayFormat.W_KEY) != 0);
+        }
+        return true;
+    }
+
+    /*
+     * Sends the state of the game to the client, unless the client has not yet read the previous one.
+     */
+    private void writeState() throws IOException {
+        if (output.hasRemaining()) {
+            channel.write(output);
+            if (output.hasRemaining()) {
+                droppedStates++;
+                return;
+            }
+        }
+        putState(true);
+        channel.write(output);
+    }
+
+    /*
+     * Sends what is left of the output after the game ended, queueing the final state once the previous
+     * message was sent, and closes the session when the final state was sent or the drain timed out.
+     */
+    private void drainOutput() throws IOException {
+        if (output.hasRemaining()) {
+            channel.write(output);
+        }
+        if (!output.hasRemaining() && !finalStateQueued) {
+            putState(false);
+            finalStateQueued = true;
+            channel.write(output);
+        }
+        if ((finalStateQueued && !output.hasRemaining()) || System.nanoTime() - drainDeadline >= 0) {
+            close();
+        }
+    }
+
+    /*
+     * Replaces the output with a message of the current state of the game.
+     */
+    private void putState(boolean running) {
+        EntityRegistry entityRegistry = simulation.getGameManager().getEntityRegistry();
+        GameObject ball = entityRegistry.first(EntityKind.MAIN_BALL);
+        GameObject paddle = entityRegistry.first(EntityKind.MAIN_PADDLE);
+        GameOutcome outcome = simulation.outcome();
+        output.clear();
+        output.putInt(outcome.getFrames());
+        output.putFloat(ball == null ? Float.NaN : ball.getCenter().x());
+        output.putFloat(ball == null ? Float.NaN : ball.getCenter().y());
+        output.putFloat(paddle == null ? Float.NaN : paddle.getCenter().x());
+        output.putShort((short) Math.min(outcome.getRemainingBricks(), Short.MAX_VALUE));
+        output.put((byte) outcome.getRemainingLives());
+        output.put((byte) statusOf(running, outcome.getResult()));
+        output.flip();
+    }
+
+    /*
+     * Returns the protocol status of the game.
+     */
+    private static int statusOf(boolean running, GameResult result) {
+        if (running) {
+            return SessionProtocol.RUNNING;
+        }
+        return result == GameResult.WON ? SessionProtocol.WON : SessionProtocol.LOST;
+    }
+}
@@ -0,0 +1,172 @@
+package bricker.server;
+
+import bricker.headless.HeadlessSimulation;
+import bricker.main.Constants;
+import bricker.main.GameSettings;
+import bricker.profiling.LatencyHistogram;
+import bricker.replay.ReplayFormat;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * ServerLoadTest measures how many concurrent sessions a GameServer sustains. For each requested number of
+ * sessions, it starts a server on the loopback address, connects as many clients, and lets them play for a
+ * while: every client reads its state messages and steers its paddle towards the ball, and reconnects when
+ * its game ends, so the number of sessions stays about constant. It then reports the sessions per core, the
+ * ticks per second the server achieved while the clients played against the ones it was asked for, and the
+ * percentiles of the tick jitter, i.e. how late the ticks started compared to their fixed timestep.
+ * <p>
+ * Usage: ServerLoadTest [sessions list] [seconds per run] [threads], e.g. {@code ServerLoadTest 100,1000 5}
+ * @author Idan Hippach, Noam Barzilay
+ */
+public class ServerLoadTest {
+    private static final String DEFAULT_SESSIONS = "10,100,400";
+    private static final int DEFAULT_SECONDS = 5;
+    private static final float DEAD_ZONE = Constants.PADDLE_WIDTH / 4;
+    private static final long CLIENT_POLL_MILLIS = 1;
+
+    /* Prevents instantiation of this class. */
+    private ServerLoadTest() {
+    }
+
+    /**
+     * Runs the load test and prints one result line per number of sessions.
+     * @param args Command-line arguments (optional): [sessions list, seconds per run, threads].
+     * @throws IOException          If the server or a client cannot connect.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String[] sessionCounts = (args.length > 0 ? args[0] : DEFAULT_SESSIONS).split(",");
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : cores;
+        System.out.printf("%8s %6s %14s %12s %12s %10s %10s %10s %8s%n", "sessions", "cores",
+                "sessions/core", "ticks/s", "target/s", "p50 ms", "p99 ms", "max ms", "dropped");
+        for (String sessionCount : sessionCounts) {
+            run(Integer.parseInt(sessionCount), seconds, threads, cores);
+        }
+    }
+
+    /*
+     * Plays the specified number of concurrent sessions for a while, and prints the result line.
+     */
+    private static void run(int sessions, int seconds, int threads, int cores)
+            throws IOException, InterruptedException {
+        ScheduledExecutorService ticker = Executors.newScheduledThreadPool(threads);
+        GameServer server = new GameServer(GameSettings.defaults(), Constants.DEFAULT_BRICKS_PER_ROW,
+                Constants.DEFAULT_BRICK_ROWS, HeadlessSimulation.DEFAULT_DELTA_TIME, ticker);
+        InetSocketAddress address = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        LoopbackClient[] clients = new LoopbackClient[sessions];
+        for (int i = 0; i < sessions; i++) {
+            clients[i] = new LoopbackClient(address);
+        }
+
+        long startTicks = server.jitter().getCount();
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            for (LoopbackClient client : clients) {
+                client.poll();
+            }
+            Thread.sleep(CLIENT_POLL_MILLIS);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram jitter = server.jitter();
+        long droppedStates = server.getDroppedStates();
+        for (LoopbackClient client : clients) {
+            client.close();
+        }
+        server.close();
+        ticker.shutdownNow();
+        System.out.printf("%8d %6d %14.1f %12.0f %12.0f %10.2f %10.2f %10.2f %8d%n", sessions, cores,
+                (double) sessions / cores, (jitter.getCount() - startTicks) / elapsedSeconds,
+                sessions / HeadlessSimulation.DEFAULT_DELTA_TIME, jitter.percentile(0.5) / 1e6,
+                jitter.percentile(0.99) / 1e6, jitter.getMax() / 1e6, droppedStates);
+    }
+
+    /*
+     * A client that follows the ball with its paddle over a non-blocking socket, and reconnects whenever
+     * its session ends.
+     */
+    private static class LoopbackClient {
+        private final InetSocketAddress address;
+        private final ByteBuffer state = ByteBuffer.allocate(SessionProtocol.STATE_BYTES);
+        private final ByteBuffer key = ByteBuffer.allocate(1);
+        private SocketChannel channel;
+        private int keyBits = -1;
+
+        LoopbackClient(InetSocketAddress address) throws IOException {
+            this.address = address;
+            connect();
+        }
+
+        /*
+         * Reads the state messages that arrived, and sends the keys that move the paddle towards the ball.
+         * Starts a new session once the server ended this one.
+         */
+        void poll() throws IOException {
+            int read;
+            try {
+                while ((read = channel.read(state)) > 0) {
+                    if (!state.hasRemaining()) {
+                        state.flip();
+                        steer();
+                        state.clear();
+                    }
+                }
+            } catch (IOException e) {
+                // the server closed the session while a key was being sent
+                read = -1;
+            }
+            if (read < 0) {
+                channel.close();
+                connect();
+            }
+        }
+
+        /*
+         * Closes the client's socket, which ends its session.
+         */
+        void close() throws IOException {
+            channel.close();
+        }
+
+        /*
+         * Connects to the server, which starts a new session.
+         */
+        private void connect() throws IOException {
+            channel = SocketChannel.open(address);
+            channel.socket().setTcpNoDelay(true);
+            channel.configureBlocking(false);
+            state.clear();
+            keyBits = -1;
+        }
+
+        /*
+         * Presses the arrow key towards the ball of a full state message, if it changed.
+         */
+        private void steer() throws IOException {
+            state.getInt();
+            float ballX = state.getFloat();
+            state.getFloat();
+            float paddleX = state.getFloat();
+            float distance = ballX - paddleX;
+            int newKeyBits = distance < -DEAD_ZONE ? ReplayFormat.LEFT_KEY :
+                    distance > DEAD_ZONE ? ReplayFormat.RIGHT_KEY : 0;
+            if (newKeyBits != keyBits) {
+                keyBits = newKeyBits;
+                key.clear();
+                key.put((byte) keyBits);
+                key.flip();
+                channel.write(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bricker.server;
+
+/**
+ * SessionProtocol holds the constants of the protocol between a GameServer and its clients, over a local
+ * TCP socket. Every connection plays a single game. The client sends a byte whenever its input changes:
+ * the keys held down, as a combination of the key bits of bricker.replay.ReplayFormat, or QUIT to end the
+ * session. After every tick of the game, the server sends a STATE_BYTES-byte state message, in big-endian
+ * order: the frame number (int), the x and y coordinates of the ball's center and the x coordinate of the
+ * paddle's center (floats), the number of bricks left (short), the number of lives left (byte) and the
+ * status of the game (byte). The message of the game's last tick, whose status is WON or LOST, is never
+ * dropped: the server closes the connection once it was sent, or once the client did not read it in time.
+ * @author Idan Hippach, Noam Barzilay
+ */
+public final class SessionProtocol {
+    /* Prevents instantiation of this class. */
+    private SessionProtocol() {
+    }
+
+    /** The client byte that ends the session. */
+    public static final int QUIT = 1 << 6;
+    /** The size, in bytes, of a state message. */
+    public static final int STATE_BYTES = 4 + 3 * 4 + 2 + 1 + 1;
+    /** The status of a game that is still being played. */
+    public static final int RUNNING = 0;
+    /** The status of a game the player won. */
+    public static final int WON = 1;
+    /** The status of a game the player lost. */
+    public static final int LOST = 2;
+}